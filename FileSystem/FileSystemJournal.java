@@ -0,0 +1,330 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Makes a file system tree durable with a write-ahead journal plus periodic snapshots, both kept
+ * in one directory:
+ *
+ * <pre>
+ * snapshot.fss   the tree as of the last checkpoint (see FileSystemSnapshot)
+ * journal.log    every mkdir and touch applied since then, oldest first
+ * </pre>
+ *
+ * Each journal record is an int payload length, the CRC32 of the payload, and the payload itself:
+ * an op byte, the file size (0 for folders), and the absolute path in UTF-8. Paths are absolute so
+ * that replay does not depend on where the user had cd'ed to.
+ *
+ * Records are appended to an in-memory batch and written and fsynced together (group commit),
+ * either once the batch holds groupCommitRecords records or by a background flush that runs every
+ * groupCommitMillis, whichever comes first. A crash therefore loses at most the last uncommitted
+ * batch, and the recovered tree is always the tree as of some earlier command. Every
+ * checkpointRecords records the whole tree is written to a new snapshot and the journal starts
+ * over, so recovery only replays the tail written since the last checkpoint.
+ *
+ * A checkpoint makes the new snapshot durable (its contents, then its rename, by fsyncing the file
+ * and then the directory) before it empties the journal, so the journal is never emptied while
+ * the snapshot on disk might still be the old one. A crash after the rename but before the
+ * truncation leaves the new snapshot with the old journal. Mutations only ever add nodes and
+ * refuse duplicate names, so replaying records whose effects are already in that snapshot is a
+ * harmless no-op.
+ */
+public class FileSystemJournal implements AutoCloseable {
+
+    public static final int DEFAULT_GROUP_COMMIT_RECORDS = 256;
+    public static final long DEFAULT_GROUP_COMMIT_MILLIS = 50;
+    public static final int DEFAULT_CHECKPOINT_RECORDS = 100_000;
+
+    private static final byte OP_MKDIR = 1;
+    private static final byte OP_TOUCH = 2;
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path snapshotPath;
+    private final FileSystemTree tree;
+    private final FileChannel channel;
+    private final int groupCommitRecords;
+    private final int checkpointRecords;
+    private final ScheduledExecutorService flusher;
+
+    // The batch not yet written to the journal, and how many records it holds
+    private ByteBuffer pending;
+    private int pendingRecords;
+    private int recordsSinceCheckpoint;
+    // A failure in the background flush, reported once by the next call from the caller's thread
+    private IOException flushFailure;
+    // Set if a failed write could not be undone, so the file may end in a torn batch that would
+    // hide every later record from replay; from then on every call fails
+    private IOException broken;
+
+    private FileSystemJournal(Path directory, FileSystemTree tree, FileChannel channel,
+            int groupCommitRecords, long groupCommitMillis, int checkpointRecords) {
+        this.snapshotPath = directory.resolve("snapshot.fss");
+        this.tree = tree;
+        this.channel = channel;
+        this.groupCommitRecords = groupCommitRecords;
+        this.checkpointRecords = checkpointRecords;
+        this.pending = ByteBuffer.allocate(4096);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushInBackground, groupCommitMillis,
+                groupCommitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Recovers the tree stored in the given directory (creating the directory if needed) and opens
+     * its journal for appending, with the default group commit and checkpoint intervals.
+     */
+    public static FileSystemJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_GROUP_COMMIT_RECORDS, DEFAULT_GROUP_COMMIT_MILLIS,
+                DEFAULT_CHECKPOINT_RECORDS);
+    }
+
+    /**
+     * Recovers the tree stored in the given directory: loads the last snapshot (or starts from an
+     * empty tree), then replays the journal. A torn or corrupt record at the end of the journal,
+     * left by a crash mid-write, ends the replay and is cut off.
+     */
+    public static FileSystemJournal open(Path directory, int groupCommitRecords,
+            long groupCommitMillis, int checkpointRecords) throws IOException {
+        if (groupCommitRecords < 1 || groupCommitMillis < 1 || checkpointRecords < 1)
+            throw new IllegalArgumentException("intervals must be positive");
+        Files.createDirectories(directory);
+        var snapshotPath = directory.resolve("snapshot.fss");
+        var tree = Files.exists(snapshotPath) ? FileSystemSnapshot.open(snapshotPath).toTree()
+                : new FileSystemTree();
+
+        var channel = FileChannel.open(directory.resolve("journal.log"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var validEnd = replay(channel, tree);
+            if (validEnd < channel.size()) {
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+            channel.position(validEnd);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new FileSystemJournal(directory, tree, channel, groupCommitRecords,
+                groupCommitMillis, checkpointRecords);
+    }
+
+    /**
+     * Returns the recovered tree. Changes to it must be recorded through logMkdir and logTouch.
+     */
+    public FileSystemTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Records that the folder at the given absolute path has been created.
+     */
+    public void logMkdir(String path) throws IOException {
+        append(OP_MKDIR, 0, path);
+    }
+
+    /**
+     * Records that a file of the given size has been created at the given absolute path.
+     */
+    public void logTouch(String path, int size) throws IOException {
+        append(OP_TOUCH, size, path);
+    }
+
+    /**
+     * Writes and fsyncs every pending record. Returns once they are all durable.
+     *
+     * If the write or fsync fails, the journal is cut back to the end of the last successful
+     * commit and the records stay pending, so a later commit retries them and a half-written batch
+     * never sits in front of later records. If even that cut fails, the journal refuses all further
+     * appends and commits.
+     */
+    public synchronized void commit() throws IOException {
+        rethrowFailure();
+        if (pendingRecords == 0)
+            return;
+        var committedEnd = channel.position();
+        pending.flip();
+        try {
+            while (pending.hasRemaining())
+                channel.write(pending);
+            channel.force(false);
+        } catch (IOException e) {
+            // Undo the flip: the whole batch is pending again, ready for more records
+            pending.position(pending.limit()).limit(pending.capacity());
+            try {
+                channel.truncate(committedEnd);
+                channel.position(committedEnd);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+                broken = e;
+            }
+            throw e;
+        }
+        pending.clear();
+        pendingRecords = 0;
+    }
+
+    /**
+     * Writes the current tree to a new snapshot and empties the journal. The snapshot is written
+     * and fsynced to a temporary file first, renamed over the old one, and the rename fsynced
+     * through the directory, so a crash part way leaves either the old snapshot and its journal or
+     * the new snapshot.
+     */
+    public synchronized void checkpoint() throws IOException {
+        commit();
+        var temp = snapshotPath.resolveSibling("snapshot.fss.tmp");
+        FileSystemSnapshot.write(tree, temp);
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        // Until the directory entry is on disk the rename can be lost, and with it the only copy
+        // of the records about to be truncated
+        try (var directory = FileChannel.open(snapshotPath.toAbsolutePath().getParent(),
+                StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } catch (IOException e) {
+            // The records left behind are all in the new snapshot, but where the next one would
+            // be written is no longer known
+            broken = e;
+            throw e;
+        }
+        recordsSinceCheckpoint = 0;
+    }
+
+    /**
+     * Commits any pending records, stops the background flusher and closes the journal file.
+     */
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        synchronized (this) {
+            try {
+                commit();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private synchronized void append(byte op, int size, String path) throws IOException {
+        rethrowFailure();
+        var encodedPath = path.getBytes(StandardCharsets.UTF_8);
+        var payloadLength = 1 + Integer.BYTES + encodedPath.length;
+        var payload = ByteBuffer.allocate(payloadLength).put(op).putInt(size).put(encodedPath);
+        var crc = new CRC32();
+        crc.update(payload.array());
+
+        if (pending.remaining() < RECORD_HEADER_BYTES + payloadLength) {
+            var grown = ByteBuffer.allocate(
+                    Math.max(2 * pending.capacity(), pending.position() + RECORD_HEADER_BYTES
+                            + payloadLength));
+            grown.put(pending.flip());
+            pending = grown;
+        }
+        pending.putInt(payloadLength).putInt((int) crc.getValue()).put(payload.array());
+        pendingRecords++;
+        recordsSinceCheckpoint++;
+
+        if (recordsSinceCheckpoint >= checkpointRecords)
+            checkpoint();
+        else if (pendingRecords >= groupCommitRecords)
+            commit();
+    }
+
+    /**
+     * Commits whatever has accumulated since the last commit; runs every groupCommitMillis.
+     */
+    private synchronized void flushInBackground() {
+        if (flushFailure != null || broken != null || !channel.isOpen())
+            return;
+        try {
+            commit();
+        } catch (IOException e) {
+            flushFailure = e;
+        }
+    }
+
+    private void rethrowFailure() throws IOException {
+        if (broken != null)
+            throw new IOException("journal is unusable after a failed write", broken);
+        if (flushFailure != null) {
+            var failure = flushFailure;
+            flushFailure = null;
+            throw new IOException("journal flush failed", failure);
+        }
+    }
+
+    /**
+     * Applies every intact record in the journal to the tree, in order, and returns the offset
+     * just past the last one.
+     */
+    private static long replay(FileChannel channel, FileSystemTree tree) throws IOException {
+        var size = channel.size();
+        if (size == 0)
+            return 0;
+        var in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        var crc = new CRC32();
+        while (in.remaining() >= RECORD_HEADER_BYTES) {
+            var start = in.position();
+            var payloadLength = in.getInt();
+            var checksum = in.getInt();
+            if (payloadLength < 1 + Integer.BYTES || payloadLength > in.remaining())
+                return start;
+            var payload = new byte[payloadLength];
+            in.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum)
+                return start;
+
+            var record = ByteBuffer.wrap(payload);
+            var op = record.get();
+            var fileSize = record.getInt();
+            var path = new String(payload, record.position(), record.remaining(),
+                    StandardCharsets.UTF_8);
+            apply(tree, op, fileSize, path);
+        }
+        return in.position();
+    }
+
+    /**
+     * Creates the node named by an absolute path such as "/docs/notes.txt". Records whose parent
+     * folder is missing, or whose node already exists, are skipped.
+     */
+    private static void apply(FileSystemTree tree, byte op, int size, String path) {
+        var names = path.split("/");
+        FolderNode folder = tree.getRoot();
+        var last = names.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (names[i].isEmpty())
+                continue;
+            var child = folder.getChildByName(names[i]);
+            if (child == null || !child.isFolder())
+                return;
+            folder = (FolderNode) child;
+        }
+        if (last < 0 || names[last].isEmpty())
+            return;
+        if (op == OP_MKDIR)
+            folder.addFolder(names[last]);
+        else if (op == OP_TOUCH)
+            folder.addFile(names[last], size);
+    }
+}
@@ -0,0 +1,277 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary image of a file system tree, written and read through a memory-mapped file.
+ *
+ * Nodes are numbered in pre-order (the root is 0, and every node comes after its parent and
+ * before its later siblings), and are stored as flat arrays rather than objects:
+ *
+ * <pre>
+ * header     magic "FSS1", version, node count, name count, CRC32 of everything after the header
+ * parent     int[nodes]   index of the parent node, -1 for the root
+ * size       int[nodes]   file size for files, total size of the subtree for folders
+ * name       int[nodes]   index into the name table
+ * kind       byte[nodes]  1 for folders, 0 for files
+ * offsets    int[names+1] start of each name in the bytes below, plus the end of the last
+ * bytes      the distinct names, UTF-8 encoded back to back
+ * </pre>
+ *
+ * Opening a snapshot only maps the file and checks its header, so it takes the same time for any
+ * tree size; the node accessors then read straight from the mapping. {@link #toTree()} turns the
+ * image back into FolderNode and FileNode objects in one pass, without re-running any commands.
+ * Since it reads every byte anyway, it also verifies the checksum and every entry, so a corrupt
+ * or truncated file is reported as an IOException rather than building a broken tree.
+ */
+public class FileSystemSnapshot {
+
+    private static final int MAGIC = 0x46535331; // "FSS1"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int nodeCount;
+    private final int nameCount;
+    // Byte offsets of each section within the mapping
+    private final int parentStart;
+    private final int sizeStart;
+    private final int nameStart;
+    private final int kindStart;
+    private final int offsetsStart;
+    private final int bytesStart;
+
+    private FileSystemSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IOException("not a file system snapshot");
+        if (buffer.getInt(4) != VERSION)
+            throw new IOException("unsupported snapshot version " + buffer.getInt(4));
+        this.nodeCount = buffer.getInt(8);
+        this.nameCount = buffer.getInt(12);
+        if (nodeCount < 1 || nameCount < 0 || HEADER_BYTES + nodeCount * (3L * Integer.BYTES + 1)
+                + (nameCount + 1L) * Integer.BYTES > buffer.capacity())
+            throw new IOException("truncated or corrupt file system snapshot");
+        this.parentStart = HEADER_BYTES;
+        this.sizeStart = parentStart + nodeCount * Integer.BYTES;
+        this.nameStart = sizeStart + nodeCount * Integer.BYTES;
+        this.kindStart = nameStart + nodeCount * Integer.BYTES;
+        this.offsetsStart = kindStart + nodeCount;
+        this.bytesStart = offsetsStart + (nameCount + 1) * Integer.BYTES;
+        if (bytesStart + buffer.getInt(offsetsStart + nameCount * Integer.BYTES)
+                != buffer.capacity())
+            throw new IOException("truncated or corrupt file system snapshot");
+    }
+
+    /**
+     * Maps the snapshot file at the given path read-only. The file can be closed and the mapping
+     * stays valid for as long as this object is reachable.
+     */
+    public static FileSystemSnapshot open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new FileSystemSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size()));
+        }
+    }
+
+    /**
+     * Writes the whole tree to the given path, replacing any existing file. Runs in O(n) time for
+     * n nodes; repeated names (like "src" in every project) are stored once.
+     */
+    public static void write(FileSystemTree tree, Path path) throws IOException {
+        // Number the nodes in pre-order with an explicit stack, so deep trees cannot overflow
+        var n = tree.getRoot().getTotalNodeCount();
+        var nodes = new FileSystemNode[n];
+        var parents = new int[n];
+        var count = 0;
+        var stack = new ArrayDeque<FileSystemNode>();
+        var stackParents = new ArrayDeque<Integer>();
+        stack.push(tree.getRoot());
+        stackParents.push(-1);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            var index = count++;
+            nodes[index] = node;
+            parents[index] = stackParents.pop();
+            if (node.isFolder()) {
+                var children = ((FolderNode) node).getChildren();
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(children.get(i));
+                    stackParents.push(index);
+                }
+            }
+        }
+
+        var nameIds = new HashMap<String, Integer>();
+        var names = new ArrayList<byte[]>();
+        var nameBytes = 0L;
+        var nodeNames = new int[n];
+        for (int i = 0; i < n; i++) {
+            var name = nodes[i].getName();
+            var id = nameIds.get(name);
+            if (id == null) {
+                id = names.size();
+                nameIds.put(name, id);
+                var encoded = name.getBytes(StandardCharsets.UTF_8);
+                names.add(encoded);
+                nameBytes += encoded.length;
+            }
+            nodeNames[i] = id;
+        }
+
+        var total = HEADER_BYTES + (long) n * (3 * Integer.BYTES + 1)
+                + (names.size() + 1L) * Integer.BYTES + nameBytes;
+        if (total > Integer.MAX_VALUE)
+            throw new IOException("tree too large for a snapshot: " + total + " bytes");
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            var out = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            out.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(names.size());
+            out.putInt(0); // checksum, filled in below once the body is written
+            for (var parent : parents)
+                out.putInt(parent);
+            for (var node : nodes)
+                out.putInt(node.getSize());
+            for (var id : nodeNames)
+                out.putInt(id);
+            for (var node : nodes)
+                out.put(node.isFolder() ? (byte) 1 : (byte) 0);
+            var offset = 0;
+            for (var name : names) {
+                out.putInt(offset);
+                offset += name.length;
+            }
+            out.putInt(offset);
+            for (var name : names)
+                out.put(name);
+            out.putInt(4 * Integer.BYTES, checksum(out));
+            out.force();
+            // The mapping only flushes the contents; this also makes the file's length durable
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Returns the number of nodes, including the root.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the index of the parent of node i, or -1 for the root (node 0).
+     */
+    public int getParent(int i) {
+        return buffer.getInt(parentStart + checkIndex(i) * Integer.BYTES);
+    }
+
+    /**
+     * Returns what getSize() returned for node i when the snapshot was written.
+     */
+    public int getSize(int i) {
+        return buffer.getInt(sizeStart + checkIndex(i) * Integer.BYTES);
+    }
+
+    /**
+     * Indicates whether node i is a folder.
+     */
+    public boolean isFolder(int i) {
+        return buffer.get(kindStart + checkIndex(i)) != 0;
+    }
+
+    /**
+     * Returns the name of node i, decoded from the name table on each call. Throws
+     * UncheckedIOException if the entry points outside the name table.
+     */
+    public String getName(int i) {
+        try {
+            return decodeName(buffer.getInt(nameStart + checkIndex(i) * Integer.BYTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuilds the tree as FolderNode and FileNode objects, with children in their original order.
+     * Each distinct name is decoded once and shared by every node that uses it, and the folder
+     * aggregates are computed once at the end with FolderNode.recomputeStats.
+     */
+    public FileSystemTree toTree() throws IOException {
+        if (checksum(buffer) != buffer.getInt(4 * Integer.BYTES))
+            throw new IOException("file system snapshot checksum mismatch");
+        var names = new String[nameCount];
+        for (int id = 0; id < nameCount; id++)
+            names[id] = decodeName(id);
+        if (buffer.getInt(parentStart) != -1 || buffer.get(kindStart) == 0)
+            throw corrupt(0, "root is not a folder without a parent");
+
+        var tree = new FileSystemTree();
+        // Pre-order means a node's parent is always built before the node itself
+        var folders = new FolderNode[nodeCount];
+        folders[0] = tree.getRoot();
+        for (int i = 1; i < nodeCount; i++) {
+            var parentIndex = buffer.getInt(parentStart + i * Integer.BYTES);
+            if (parentIndex < 0 || parentIndex >= i || folders[parentIndex] == null)
+                throw corrupt(i, "parent " + parentIndex + " is not an earlier folder");
+            var nameId = buffer.getInt(nameStart + i * Integer.BYTES);
+            if (nameId < 0 || nameId >= nameCount)
+                throw corrupt(i, "name " + nameId + " is not in the name table");
+            var parent = folders[parentIndex];
+            var name = names[nameId];
+            if (parent.getChildByName(name) != null)
+                throw corrupt(i, "duplicate name " + name);
+            if (buffer.get(kindStart + i) != 0)
+                folders[i] = parent.appendFolder(name);
+            else
+                parent.appendFile(name, buffer.getInt(sizeStart + i * Integer.BYTES));
+        }
+        // Fill in every folder's aggregates in one pass, rather than per node added
+        tree.getRoot().recomputeStats();
+        return tree;
+    }
+
+    /**
+     * Decodes name id from the name table, checking that its bounds lie within the table.
+     */
+    private String decodeName(int id) throws IOException {
+        if (id < 0 || id >= nameCount)
+            throw new IOException("corrupt file system snapshot: no name " + id);
+        var from = buffer.getInt(offsetsStart + id * Integer.BYTES);
+        var to = buffer.getInt(offsetsStart + (id + 1) * Integer.BYTES);
+        if (from < 0 || from > to || bytesStart + (long) to > buffer.capacity())
+            throw new IOException("corrupt file system snapshot: name " + id + " spans bytes "
+                    + from + " to " + to);
+        var bytes = new byte[to - from];
+        buffer.get(bytesStart + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IOException corrupt(int node, String problem) {
+        return new IOException("corrupt file system snapshot: node " + node + ": " + problem);
+    }
+
+    /**
+     * Returns the CRC32 of everything after the header.
+     */
+    private static int checksum(MappedByteBuffer image) {
+        var crc = new CRC32();
+        crc.update(image.duplicate().position(HEADER_BYTES));
+        return (int) crc.getValue();
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= nodeCount)
+            throw new IndexOutOfBoundsException("node " + i + " of " + nodeCount);
+        return i;
+    }
+}
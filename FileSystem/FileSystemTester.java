@@ -1,5 +1,11 @@
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Small manual tester for the solution file-system implementation.
@@ -11,10 +17,14 @@ import java.io.PrintStream;
  * - FolderNode has addFolder(String) and addFile(String, int) that return boolean - FileSystemNode
  * has getDepth(), getHeight(), getSize(), getTotalNodeCount() - Navigator has
  * processUserInputString(String) which prints results to System.out
+ *
+ * After the checks it starts an interactive Navigator. Given a directory argument, that session
+ * runs on the tree kept in the directory by a FileSystemJournal, so what it creates is still there
+ * the next time the tester is started with the same directory.
  */
 public class FileSystemTester {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
         // 1. Construct a tree and check root
         FileSystemTree tree = new FileSystemTree();
@@ -44,9 +54,110 @@ public class FileSystemTester {
         int sizeRoot = root.getSize();
         int totalNodesRoot = root.getTotalNodeCount();
 
+        // 3. find by exact name, glob and regex
+        System.out.println("\n=== find ===");
+        var finder = new Navigator(tree);
+        run(finder, "mkdir docs/CompSci/notes", "touch docs/CompSci/notes/intro.txt 10",
+                "touch docs/CompSci/notes/intro.md 20", "touch src/intro.txt 30");
+        check(run(finder, "find intro.txt"),
+                "/docs/CompSci/notes/intro.txt\n/src/intro.txt\n", "find by exact name");
+        check(run(finder, "cd docs", "find intro.txt", "cd /"), "/docs/CompSci/notes/intro.txt\n",
+                "find only searches below the current folder");
+        check(run(finder, "find -name 'intro.*'"),
+                "/docs/CompSci/notes/intro.txt\n/docs/CompSci/notes/intro.md\n/src/intro.txt\n",
+                "find -name with a glob");
+        check(run(finder, "find -name '*.md'"), "/docs/CompSci/notes/intro.md\n/README.md\n",
+                "find -name with a leading wildcard");
+        check(run(finder, "find -regex '/docs/.*[.]txt'"), "/docs/CompSci/notes/intro.txt\n",
+                "find -regex against the whole path");
+        check(run(finder, "cd docs", "find -name 'intro.*'", "cd /"),
+                "/docs/CompSci/notes/intro.txt\n/docs/CompSci/notes/intro.md\n",
+                "find -name only searches below the current folder");
+        run(finder, "mkdir src/notes", "touch src/notes/intro.md 5");
+        check(run(finder, "find intro.md"), "/docs/CompSci/notes/intro.md\n/src/notes/intro.md\n",
+                "find sees nodes added after an earlier find");
+
+        // 4. Snapshot round trip
+        System.out.println("\n=== Snapshot round trip ===");
+        var snapshotFile = Files.createTempFile("tree", ".fss");
+        FileSystemSnapshot.write(tree, snapshotFile);
+        var restored = FileSystemSnapshot.open(snapshotFile).toTree();
+        check(run(new Navigator(restored), "tree"), run(new Navigator(tree), "tree"),
+                "restored tree has the same layout");
+        check(restored.getRoot().getStats().toString(), root.getStats().toString(),
+                "restored tree has the same size, node count and height");
+        check(run(new Navigator(restored), "find intro.md"),
+                "/docs/CompSci/notes/intro.md\n/src/notes/intro.md\n",
+                "restored tree can be searched");
+        Files.delete(snapshotFile);
+
+        // 5. Journal recovery after an unclean stop
+        System.out.println("\n=== Journal recovery ===");
+        var journalDir = Files.createTempDirectory("journal");
+        var journal = FileSystemJournal.open(journalDir);
+        var journaled = new Navigator(journal);
+        run(journaled, "mkdir logs", "touch logs/today.log 42", "mkdir logs/old");
+        journal.commit();
+        var committedBytes = Files.size(journalDir.resolve("journal.log"));
+        // Stop without closing, with half a record at the end as if the process died mid-write
+        try (var log = FileChannel.open(journalDir.resolve("journal.log"),
+                StandardOpenOption.APPEND)) {
+            log.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 40, 1, 2 }));
+        }
+        var recovered = FileSystemJournal.open(journalDir);
+        check(run(new Navigator(recovered), "tree"), run(journaled, "tree"),
+                "committed commands survive an unclean stop");
+        check(Files.size(journalDir.resolve("journal.log")) == committedBytes,
+                "torn record at the end of the journal is cut off");
+        run(new Navigator(recovered), "touch logs/old/last.log 7");
+        recovered.checkpoint();
+        recovered.close();
+        var afterCheckpoint = FileSystemJournal.open(journalDir);
+        check(afterCheckpoint.getTree().getRoot().getStats().toString(),
+                "size=49, nodes=5, height=3", "checkpointed tree reloads from its snapshot");
+        afterCheckpoint.close();
+        Files.delete(journalDir.resolve("journal.log"));
+        Files.delete(journalDir.resolve("snapshot.fss"));
+        Files.delete(journalDir);
+
+        if (args.length > 0) {
+            try (var sessionJournal = FileSystemJournal.open(Path.of(args[0]))) {
+                System.out.println("\nSession kept in " + args[0]);
+                new Navigator(sessionJournal).run();
+            }
+        } else {
+            var navigator = new Navigator(tree);
+            navigator.run();
+        }
 
-        var navigator = new Navigator(tree);
-        navigator.run();
+    }
+
+    /**
+     * Runs each command on the navigator and returns everything it printed.
+     */
+    private static String run(Navigator navigator, String... commands) {
+        var out = System.out;
+        var captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true));
+        try {
+            for (var command : commands)
+                navigator.processUserInputString(command);
+        } finally {
+            System.setOut(out);
+        }
+        return captured.toString().replace("\r\n", "\n");
+    }
+
+    private static void check(String actual, String expected, String description) {
+        if (actual.equals(expected)) {
+            System.out.println("[PASS] " + description + ".");
+        } else {
+            System.out.println("[FAIL] " + description + ". Expected:\n" + expected + "Got:\n"
+                    + actual);
+        }
+    }
 
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
     }
 }
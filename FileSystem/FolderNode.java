@@ -1,5 +1,14 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Represents a directory in the file system tree. A directory can contain other directories and
@@ -7,11 +16,31 @@ import java.util.List;
  */
 public class FolderNode extends FileSystemNode {
 
+    // recomputeStats forks a task for a subfolder only if it has at least this many children...
+    private static final int FORK_MIN_CHILDREN = 16;
+    // ...and no more than this many forked tasks are still waiting for a thread
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    // Children in insertion order, for listings
     private List<FileSystemNode> children;
+    // The same children keyed by name, for O(1) lookups and duplicate checks
+    private Map<String, FileSystemNode> childrenByName;
+
+    // Subtree aggregates, kept current as nodes are added anywhere below this folder
+    private int size;
+    private int totalNodeCount;
+    private int height;
+
+    // Index of every name in the tree; only the root folder has one, created on first use
+    private NameIndex nameIndex;
 
     public FolderNode(String name, FolderNode parent) {
         super(name, parent);
         this.children = new ArrayList<>();
+        this.childrenByName = new HashMap<>();
+        this.size = 0;
+        this.totalNodeCount = 1;
+        this.height = 0;
     }
 
 
@@ -21,26 +50,72 @@ public class FolderNode extends FileSystemNode {
     }
 
     /**
-     * Returns a list view of the children contained directly inside this directory. Modifying the
-     * returned list is not required to be supported.
+     * Returns a read-only view of the children contained directly inside this directory, in the
+     * order they were added. The view is not a copy, so it reflects later additions.
      */
     public List<FileSystemNode> getChildren() {
-        List<FileSystemNode> list = new ArrayList<>();
-        children.forEach(c -> list.add(c));
-        return list;
+        return Collections.unmodifiableList(children);
     }
 
     /**
-     * Searches the children of this directory for a node whose name matches the input. Only direct
-     * children are considered, not deeper descendants.
+     * Returns the direct child with the given name, or null if there is none. Only direct children
+     * are considered, not deeper descendants. Runs in expected O(1) time.
      */
     public FileSystemNode getChildByName(String childName) {
-        for (var node : children) {
-            if (node.getName() == childName) {
-                return node;
-            }
+        return childrenByName.get(childName);
+    }
+
+    /**
+     * Records a newly created child in the ordered list, the name lookup and the tree's name index.
+     */
+    private void addChild(FileSystemNode child) {
+        children.add(child);
+        childrenByName.put(child.getName(), child);
+        var root = childAdded(child.getSize(), child.getTotalNodeCount(), child.getHeight());
+        root.getNameIndex().add(child);
+    }
+
+    /**
+     * Adds a new subfolder and returns it, without updating any cached aggregates or the name index
+     * and without checking for duplicate names. For bulk loads into a tree whose name index has not
+     * been used yet, which call recomputeStats once at the end; the index is built on first use.
+     */
+    FolderNode appendFolder(String folderName) {
+        var folder = new FolderNode(folderName, this);
+        children.add(folder);
+        childrenByName.put(folderName, folder);
+        return folder;
+    }
+
+    /**
+     * Adds a new file without updating any cached aggregates or the name index and without checking
+     * for duplicate names. For bulk loads into a tree whose name index has not been used yet, which
+     * call recomputeStats once at the end; the index is built on first use.
+     */
+    void appendFile(String fileName, int size) {
+        var file = new FileNode(fileName, this, size);
+        children.add(file);
+        childrenByName.put(fileName, file);
+    }
+
+    /**
+     * Folds a newly attached subtree into the cached aggregates of this folder and every ancestor,
+     * in O(depth), and returns the root folder it reached. A future delete or move would apply
+     * negative deltas the same way and recompute height from the remaining children.
+     */
+    private FolderNode childAdded(int childSize, int childNodeCount, int childHeight) {
+        var newHeight = childHeight + 1;
+        var folder = this;
+        while (true) {
+            folder.size += childSize;
+            folder.totalNodeCount += childNodeCount;
+            if (newHeight > folder.height)
+                folder.height = newHeight;
+            newHeight = folder.height + 1;
+            if (folder.getParent() == null)
+                return folder;
+            folder = folder.getParent();
         }
-        return null;
     }
 
     /**
@@ -49,10 +124,9 @@ public class FolderNode extends FileSystemNode {
      * new file is added and true is returned.
      */
     public boolean addFile(String fileName, int size) {
-        for (var node : children)
-            if (node.getName() == fileName)
-                return false;
-        children.add(new FileNode(fileName, this, size));
+        if (childrenByName.containsKey(fileName))
+            return false;
+        addChild(new FileNode(fileName, this, size));
         return true;
     }
 
@@ -62,10 +136,9 @@ public class FolderNode extends FileSystemNode {
      * new folder is added and true is returned.
      */
     public boolean addFolder(String folderName) {
-        for (var node : children)
-            if (node.getName() == folderName)
-                return false;
-        children.add(new FolderNode(folderName, this));
+        if (childrenByName.containsKey(folderName))
+            return false;
+        addChild(new FolderNode(folderName, this));
         return true;
     }
 
@@ -74,36 +147,144 @@ public class FolderNode extends FileSystemNode {
      * When a match is found, its full path can be printed by the caller using toString().
      */
     public boolean containsNameRecursive(String searchName) {
-        for (var node : children)
-            if (searchName == node.getName())
-                return true;
-            else if (node.getClass() == FolderNode.class)
-                if (((FolderNode) node).containsNameRecursive(searchName))
-                    return true;
-        return false;
+        if (childrenByName.containsKey(searchName))
+            return true;
+        return getRootFolder().getNameIndex().contains(this, searchName);
+    }
+
+    /**
+     * Returns every node below this directory (not including itself) with the given name, in the
+     * order a depth-first walk of the children lists would find them. Uses the tree's name index,
+     * so it takes time proportional to the number of matches plus this folder's height.
+     */
+    public List<FileSystemNode> findByName(String searchName) {
+        return getRootFolder().getNameIndex().find(this, searchName);
     }
 
+    /**
+     * Passes every node below this directory whose name starts with prefix and is accepted by
+     * nameFilter to action, in depth-first order, as each is found. Uses the tree's name index, so
+     * names without that prefix are never looked at.
+     */
+    public void forEachWithNamePrefix(String prefix, Predicate<String> nameFilter,
+            Consumer<FileSystemNode> action) {
+        getRootFolder().getNameIndex().forEachWithPrefix(this, prefix, nameFilter, action);
+    }
+
+    /**
+     * Returns the name index of the tree this folder is the root of. An index created after nodes
+     * were added still covers them, since it builds itself from the tree on first use.
+     */
+    private NameIndex getNameIndex() {
+        if (nameIndex == null)
+            nameIndex = new NameIndex(this);
+        return nameIndex;
+    }
+
+    private FolderNode getRootFolder() {
+        var folder = this;
+        while (folder.getParent() != null)
+            folder = folder.getParent();
+        return folder;
+    }
+
+    /**
+     * Returns the size, node count and height of this subtree together, from the cached values, in
+     * O(1).
+     */
+    public TreeStats getStats() {
+        return new TreeStats(size, totalNodeCount, height);
+    }
+
+    /**
+     * Recomputes the aggregates of this folder and of every folder below it from scratch, in one
+     * post-order pass, refreshes their cached values and returns this folder's. Large subfolders
+     * are handed to fork-join tasks; small ones, and everything once the pool is busy, are done
+     * sequentially by the task that reached them. Runs in O(n) total work.
+     */
+    public TreeStats recomputeStats() {
+        ForkJoinPool.commonPool().invoke(new AggregateTask(this));
+        return getStats();
+    }
+
+    /**
+     * Computes and caches the aggregates of one folder's subtree.
+     */
+    private static class AggregateTask extends RecursiveTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FolderNode folder;
+
+        AggregateTask(FolderNode folder) {
+            this.folder = folder;
+        }
+
+        /**
+         * Walks the subtree with an explicit stack, so a deep chain of small folders cannot
+         * overflow the call stack, forking off the large subfolders it meets along the way. Each
+         * folder it keeps is listed before its subfolders, so going through the list backwards
+         * finishes every folder after all of them.
+         */
+        @Override
+        protected Void compute() {
+            var forked = new ArrayList<AggregateTask>();
+            var visited = new ArrayList<FolderNode>();
+            var stack = new ArrayDeque<FolderNode>();
+            stack.push(folder);
+            while (!stack.isEmpty()) {
+                var current = stack.pop();
+                visited.add(current);
+                for (var child : current.children) {
+                    if (child instanceof FolderNode) {
+                        var subfolder = (FolderNode) child;
+                        if (subfolder.children.size() >= FORK_MIN_CHILDREN
+                                && ForkJoinTask.getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS) {
+                            var task = new AggregateTask(subfolder);
+                            task.fork();
+                            forked.add(task);
+                        } else {
+                            stack.push(subfolder);
+                        }
+                    }
+                }
+            }
+            for (var task : forked)
+                task.join();
+
+            for (int i = visited.size() - 1; i >= 0; i--)
+                aggregateChildren(visited.get(i));
+            return null;
+        }
+
+        private static void aggregateChildren(FolderNode folder) {
+            var size = 0;
+            var nodeCount = 1;
+            var height = 0;
+            for (var child : folder.children) {
+                size += child.getSize();
+                nodeCount += child.getTotalNodeCount();
+                height = Math.max(height, child.getHeight() + 1);
+            }
+            folder.size = size;
+            folder.totalNodeCount = nodeCount;
+            folder.height = height;
+        }
+    }
+
+    // The aggregates below are cached and maintained by childAdded, so each is O(1).
+
     @Override
     public int getHeight() {
-        var max = 0;
-        for (var node : children)
-            max = Math.max(node.getHeight() + 1, max);
-        return max;
+        return height;
     }
 
     @Override
     public int getSize() {
-        var loc = 0;
-        for (var child : children)
-            loc += child.getSize();
-        return loc;
+        return size;
     }
 
     @Override
     public int getTotalNodeCount() {
-        var loc = 1;
-        for (var child : children)
-            loc += child.getTotalNodeCount();
-        return loc;
+        return totalNodeCount;
     }
 }
@@ -0,0 +1,297 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * An index from names to every node in a file system tree with that name, kept by the root folder
+ * and updated as nodes are added anywhere in the tree.
+ *
+ * To restrict a lookup to one folder's subtree, every node gets an entry here (the nodes hold no
+ * index state) with a label that increases along a pre-order walk of the tree. A folder's
+ * descendants are exactly the nodes labelled after the folder and up to its last descendant (found
+ * by following last children), and each name's entries are kept sorted by label. So a lookup is
+ * O(depth + log m + k) for k matches out of the m nodes with that name, no matter how large the
+ * tree is.
+ *
+ * Names are kept sorted, so all names sharing a prefix form one range of the map, which serves as
+ * a prefix trie for patterns like "log*".
+ *
+ * Labels are not consecutive, so a new node can usually take a label between its neighbours in
+ * pre-order without touching any other node (order maintenance). Only when its neighbours' labels
+ * are adjacent are the nodes around it spread out again, over the smallest aligned range of labels
+ * that is not too crowded, so an insertion costs O(log n) amortized however the tree grows (Bender
+ * et al., "Two Simplified Algorithms for Maintaining Order in a List"). Relabelling keeps the
+ * relative order, so the sorted name sets stay valid. The index is built from the tree in one O(n)
+ * pass on first use, so bulk loads never pay per node.
+ */
+public class NameIndex {
+
+    // Labels lie in [0, 2^LABEL_BITS)
+    private static final int LABEL_BITS = 62;
+    // Spacing between labels when built, and after the last node when appending in pre-order
+    private static final long TAIL_GAP = 1L << 32;
+    // A range of 2^i labels is dense enough to need spreading out once it holds (2 / 1.5)^i nodes
+    private static final double DENSITY_BASE = 1.5;
+    private static final Comparator<Entry> BY_LABEL =
+            Comparator.comparingLong(entry -> entry.label);
+
+    private final FolderNode root;
+    private final IdentityHashMap<FileSystemNode, Entry> entries;
+    private final TreeMap<String, NavigableSet<Entry>> entriesByName;
+    // Whether the labels, the pre-order chain and the name sets cover the whole tree
+    private boolean built;
+
+    public NameIndex(FolderNode root) {
+        this.root = root;
+        this.entries = new IdentityHashMap<>();
+        this.entriesByName = new TreeMap<>();
+        this.built = false;
+    }
+
+    // A node's place in the pre-order chain: its label and its neighbours in the walk
+    private static class Entry {
+        private final FileSystemNode node;
+        private long label;
+        private Entry previous;
+        private Entry next;
+
+        Entry(FileSystemNode node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * Records a node that has just been added to the tree as the last child of its parent.
+     */
+    public void add(FileSystemNode node) {
+        // The first lookup will find the node when it builds the index from the tree
+        if (!built)
+            return;
+        var siblings = node.getParent().getChildren();
+        var previous = siblings.size() == 1 ? node.getParent()
+                : lastInSubtree(siblings.get(siblings.size() - 2));
+        var entry = new Entry(node);
+        entries.put(node, entry);
+        insertAfter(entries.get(previous), entry);
+        addByName(entry);
+    }
+
+    /**
+     * Returns a new list of every node strictly inside the given folder's subtree with the given
+     * name, in pre-order (the order a depth-first walk of the children lists would find them).
+     */
+    public List<FileSystemNode> find(FolderNode folder, String name) {
+        var found = new ArrayList<FileSystemNode>();
+        var inSubtree = inSubtree(folder, name);
+        if (inSubtree != null) {
+            for (var entry : inSubtree)
+                found.add(entry.node);
+        }
+        return found;
+    }
+
+    /**
+     * Indicates whether any node strictly inside the given folder's subtree has the given name.
+     */
+    public boolean contains(FolderNode folder, String name) {
+        var inSubtree = inSubtree(folder, name);
+        return inSubtree != null && !inSubtree.isEmpty();
+    }
+
+    /**
+     * Passes every node strictly inside the given folder's subtree whose name starts with prefix
+     * and is accepted by nameFilter to action, in pre-order, as each is found. Only the names with
+     * that prefix are looked at, and each only through its matches in the subtree; the sets of
+     * the accepted names are merged by label. The action must not add nodes to the tree.
+     */
+    public void forEachWithPrefix(FolderNode folder, String prefix, Predicate<String> nameFilter,
+            Consumer<FileSystemNode> action) {
+        if (!built)
+            build();
+        var first = entries.get(folder);
+        var last = entries.get(lastInSubtree(folder));
+        // One run per accepted name: its nodes in the subtree, consumed from the front
+        var runs = new PriorityQueue<Run>(Comparator.comparingLong(Run::peekLabel));
+        for (var named : entriesByName.tailMap(prefix, true).entrySet()) {
+            if (!named.getKey().startsWith(prefix))
+                break;
+            if (!nameFilter.test(named.getKey()))
+                continue;
+            var inSubtree = named.getValue().subSet(first, false, last, true).iterator();
+            if (inSubtree.hasNext())
+                runs.add(new Run(inSubtree));
+        }
+        while (!runs.isEmpty()) {
+            var run = runs.poll();
+            action.accept(run.next());
+            if (run.hasNext())
+                runs.add(run);
+        }
+    }
+
+    // The rest of one name's entries in the subtree, with the next one taken out to compare by
+    private static class Run {
+        private final Iterator<Entry> entries;
+        private Entry head;
+
+        Run(Iterator<Entry> entries) {
+            this.entries = entries;
+            this.head = entries.next();
+        }
+
+        boolean hasNext() {
+            return head != null;
+        }
+
+        long peekLabel() {
+            return head.label;
+        }
+
+        FileSystemNode next() {
+            var node = head.node;
+            head = entries.hasNext() ? entries.next() : null;
+            return node;
+        }
+    }
+
+    /**
+     * Returns a view of the entries of nodes with the given name inside the folder's subtree,
+     * building the index first if needed, or null if no node anywhere has that name.
+     */
+    private NavigableSet<Entry> inSubtree(FolderNode folder, String name) {
+        if (!built)
+            build();
+        var named = entriesByName.get(name);
+        if (named == null)
+            return null;
+        return named.subSet(entries.get(folder), false, entries.get(lastInSubtree(folder)), true);
+    }
+
+    private void addByName(Entry entry) {
+        entriesByName.computeIfAbsent(entry.node.getName(), k -> new TreeSet<>(BY_LABEL))
+                .add(entry);
+    }
+
+    /**
+     * Returns the last node of the given node's subtree in pre-order, in O(depth).
+     */
+    private static FileSystemNode lastInSubtree(FileSystemNode node) {
+        while (node.isFolder()) {
+            var children = ((FolderNode) node).getChildren();
+            if (children.isEmpty())
+                break;
+            node = children.get(children.size() - 1);
+        }
+        return node;
+    }
+
+    /**
+     * Links entry into the pre-order chain right after previous and gives it a label between
+     * theirs, spreading out the labels around it if there is no room.
+     */
+    private void insertAfter(Entry previous, Entry entry) {
+        var next = previous.next;
+        entry.previous = previous;
+        entry.next = next;
+        previous.next = entry;
+        if (next != null)
+            next.previous = entry;
+        if (next == null && previous.label < (1L << LABEL_BITS) - TAIL_GAP) {
+            entry.label = previous.label + TAIL_GAP;
+        } else if (next != null && next.label - previous.label > 1) {
+            entry.label = previous.label + (next.label - previous.label) / 2;
+        } else {
+            relabelAround(previous);
+        }
+    }
+
+    /**
+     * Relabels the entries in the smallest aligned range of 2^i labels around previous that, with
+     * the unlabelled entry just after previous counted in, holds fewer than (2 / DENSITY_BASE)^i
+     * entries, spacing them evenly across the range. Relabels the whole tree if no range qualifies.
+     */
+    private void relabelAround(Entry previous) {
+        var first = previous;
+        var last = previous.next;
+        last.label = previous.label;
+        var count = 2L;
+        var capacity = 1.0;
+        for (int bits = 1; bits < LABEL_BITS; bits++) {
+            capacity *= 2 / DENSITY_BASE;
+            var low = previous.label & -(1L << bits);
+            var high = low + (1L << bits);
+            while (first.previous != null && first.previous.label >= low) {
+                first = first.previous;
+                count++;
+            }
+            while (last.next != null && last.next.label < high) {
+                last = last.next;
+                count++;
+            }
+            if (count < capacity) {
+                var step = (high - low) / count;
+                var label = low;
+                for (var entry = first; entry != last.next; entry = entry.next) {
+                    entry.label = label;
+                    label += step;
+                }
+                return;
+            }
+        }
+        relabelAll();
+    }
+
+    /**
+     * Labels every entry along the pre-order chain, as far apart as the number of nodes allows (up
+     * to TAIL_GAP), leaving at least half the label space free after the last one.
+     */
+    private void relabelAll() {
+        var count = 0L;
+        var head = entries.get(root);
+        for (var entry = head; entry != null; entry = entry.next)
+            count++;
+        var step = Math.max(1, Math.min(TAIL_GAP, (1L << LABEL_BITS) / (2 * count)));
+        var label = 0L;
+        for (var entry = head; entry != null; entry = entry.next) {
+            entry.label = label;
+            label += step;
+        }
+    }
+
+    /**
+     * Gives every node an entry linked into the pre-order chain, labels them, and fills the name
+     * sets, in one walk plus O(n log m). Uses an explicit stack, so deep trees cannot overflow.
+     */
+    private void build() {
+        Entry last = null;
+        var stack = new ArrayDeque<FileSystemNode>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            var entry = new Entry(node);
+            entries.put(node, entry);
+            entry.previous = last;
+            if (last != null)
+                last.next = entry;
+            last = entry;
+            if (node.isFolder()) {
+                var children = ((FolderNode) node).getChildren();
+                for (int i = children.size() - 1; i >= 0; i--)
+                    stack.push(children.get(i));
+            }
+        }
+        relabelAll();
+        for (var entry = entries.get(root).next; entry != null; entry = entry.next)
+            addByName(entry);
+        built = true;
+    }
+}
@@ -1,6 +1,11 @@
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Scanner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Handles interactive navigation of the file system This class reads commands from standard input,
@@ -9,6 +14,8 @@ import java.util.Scanner;
 public class Navigator {
 
     private final FileSystemTree fileSystem;
+    // Where mkdir and touch are recorded for crash recovery; null if the tree is not persisted
+    private final FileSystemJournal journal;
     private FolderNode currentDirectory;
     private boolean shouldExit;
 
@@ -17,7 +24,20 @@ public class Navigator {
      * directory.
      */
     public Navigator(FileSystemTree fst) {
+        this(fst, null);
+    }
+
+    /**
+     * Constructs a navigator over the tree recovered by a journal. Every successful mkdir and touch
+     * is recorded in that journal, so it survives the process exiting or crashing.
+     */
+    public Navigator(FileSystemJournal journal) {
+        this(journal.getTree(), journal);
+    }
+
+    private Navigator(FileSystemTree fst, FileSystemJournal journal) {
         this.fileSystem = fst;
+        this.journal = journal;
         this.currentDirectory = fst.getRoot();
     }
 
@@ -87,23 +107,17 @@ public class Navigator {
             return cd_rec(new ArrayList<String>(full_dir.subList(1, full_dir.size())),
                     temp_curr.getParent());
         }
-        boolean found = false;
-        for (var child : temp_curr.getChildren()) {
-            if (child.getName().equals(next)) {
-                if (child.getClass() == FileNode.class) {
-                    System.out.println("cannot cd into a file");
-                    return null;
-                }
-                temp_curr = (FolderNode) child;
-                full_dir.remove(0);
-                found = true;
-                break;
-            }
-        }
-        if (!found) {
+        var child = temp_curr.getChildByName(next);
+        if (child == null) {
             System.out.println("Could not cd into such directory");
             return null;
         }
+        if (!child.isFolder()) {
+            System.out.println("cannot cd into a file");
+            return null;
+        }
+        temp_curr = (FolderNode) child;
+        full_dir.remove(0);
         if (full_dir.size() == 0)
             return temp_curr;
         return cd_rec(full_dir, temp_curr);
@@ -170,13 +184,10 @@ public class Navigator {
         }
         var to_be_made = dirs.remove(dirs.size() - 1);
         var res = cd_rec(dirs, tempDir);
-        for (var child : res.getChildren()) {
-            if (child.getName().equals(args[0])) {
-                System.out.println("duplicate directory: " + args[0]);
-                return;
-            }
-        }
-        res.addFolder(to_be_made);
+        if (!res.addFolder(to_be_made))
+            System.out.println("duplicate directory: " + args[0]);
+        else
+            log(res, to_be_made, true, 0);
     }
 
     /**
@@ -209,56 +220,191 @@ public class Navigator {
         var size = Integer.parseInt(args[1]);
         var to_be_made = dirs.remove(dirs.size() - 1);
         var res = cd_rec(dirs, tempDir);
-        res.addFile(to_be_made, size);
+        if (res.addFile(to_be_made, size))
+            log(res, to_be_made, false, size);
+    }
+
+    /**
+     * Records a node just created by mkdir or touch in the journal, if there is one, under its
+     * absolute path so replay does not depend on the current directory.
+     */
+    private void log(FolderNode parent, String name, boolean isFolder, int size) {
+        if (journal == null)
+            return;
+        var path = (parent == this.fileSystem.getRoot() ? "" : pathOf(parent)) + "/" + name;
+        try {
+            if (isFolder)
+                journal.logMkdir(path);
+            else
+                journal.logTouch(path, size);
+        } catch (IOException e) {
+            System.out.println("could not write journal: " + e.getMessage());
+        }
     }
 
     /**
-     * Searches the current directory and its descendants for nodes with a given name and prints
-     * their paths.
+     * Searches the current directory and its descendants and prints the path of each match as soon
+     * as it is found, in depth-first order:
+     *
+     * "find notes.txt" -> nodes named exactly notes.txt
+     *
+     * "find -name '*.log'" -> nodes whose name matches a shell glob (*, ? and [...] classes)
+     *
+     * "find -regex '/docs/.*[.]txt'" -> nodes whose whole absolute path matches a regex
+     *
+     * Exact names, and globs that start with literal characters, are answered from the tree's name
+     * index and only look at names with that prefix. Other patterns are compiled once and checked
+     * against every node in one iterative walk, so deep trees cannot overflow the stack.
      */
     private void find(String[] args) {
         if (args.length == 0)
             return;
-        var name = args[0];
-        var ress = new ArrayList<FileSystemNode>();
-        for (var child : this.currentDirectory.getChildren()) {
-            if (child.getName().equals(name))
-                ress.add(child);
-            if (child.isFolder()) {
-                var n = find_rec((FolderNode) child, name);
-                if (n.size() > 0)
-                    ress.addAll(n);
+        if (!args[0].equals("-name") && !args[0].equals("-regex")) {
+            for (var node : this.currentDirectory.findByName(args[0]))
+                System.out.println(pathOf(node));
+            return;
+        }
+        if (args.length < 2) {
+            System.out.println("expected a pattern after " + args[0]);
+            return;
+        }
+        var pattern = unquote(args[1]);
+        if (args[0].equals("-regex")) {
+            try {
+                findMatching(Pattern.compile(pattern).matcher(""), true);
+            } catch (PatternSyntaxException e) {
+                System.out.println("invalid regex: " + e.getDescription());
             }
+            return;
         }
 
-        var saved_dir = this.currentDirectory;
-        for (var node : ress) {
-            if (node.isFolder()) {
-                this.currentDirectory = (FolderNode) node;
-                pwd(new String[] {});
-            } else {
-                var temp_file = node.getName();
-                this.currentDirectory = node.getParent();
-                pwd(args);
-                System.out.print("/" + temp_file);
-                System.out.println();
-            }
+        var compiled = globToRegex(pattern);
+        var prefix = literalPrefix(pattern);
+        if (prefix.isEmpty()) {
+            findMatching(compiled.matcher(""), false);
+            return;
         }
-        this.currentDirectory = saved_dir;
+        var matcher = compiled.matcher("");
+        this.currentDirectory.forEachWithNamePrefix(prefix,
+                name -> matcher.reset(name).matches(),
+                node -> System.out.println(pathOf(node)));
     }
 
-    private ArrayList<FileSystemNode> find_rec(FolderNode node, String name) {
-        var nodes_matching = new ArrayList<FileSystemNode>();
-        for (var child : node.getChildren()) {
-            if (child.getName().equals(name))
-                nodes_matching.add(child);
-            if (child.isFolder()) {
-                var n = find_rec((FolderNode) child, name);
-                if (!n.isEmpty())
-                    nodes_matching.addAll(n);
+    /**
+     * Walks the current directory's subtree in depth-first order with an explicit stack, printing
+     * every node whose name (or whole path, if matchPath) the matcher accepts. The one matcher is
+     * reset for each node instead of allocating a new one.
+     */
+    private void findMatching(Matcher matcher, boolean matchPath) {
+        var nodes = new ArrayDeque<FileSystemNode>();
+        // The path of the folder each stacked node is in ("" for the root)
+        var parentPaths = new ArrayDeque<String>();
+        var base = this.currentDirectory == this.fileSystem.getRoot() ? ""
+                : pathOf(this.currentDirectory);
+        pushChildren(this.currentDirectory, base, nodes, parentPaths);
+        while (!nodes.isEmpty()) {
+            var node = nodes.pop();
+            var path = parentPaths.pop() + "/" + node.getName();
+            if (matcher.reset(matchPath ? path : node.getName()).matches())
+                System.out.println(path);
+            if (node.isFolder())
+                pushChildren((FolderNode) node, path, nodes, parentPaths);
+        }
+    }
+
+    private void pushChildren(FolderNode folder, String path, ArrayDeque<FileSystemNode> nodes,
+            ArrayDeque<String> parentPaths) {
+        var children = folder.getChildren();
+        // Last child first, so the first child is popped first
+        for (int i = children.size() - 1; i >= 0; i--) {
+            nodes.push(children.get(i));
+            parentPaths.push(path);
+        }
+    }
+
+    /**
+     * Returns the absolute path of a node, e.g. "/docs/notes.txt", or "/" for the root.
+     */
+    private String pathOf(FileSystemNode node) {
+        if (node == this.fileSystem.getRoot())
+            return "/";
+        var path = new StringBuilder();
+        for (var curr = node; curr != this.fileSystem.getRoot(); curr = curr.getParent())
+            path.insert(0, "/" + curr.getName());
+        return path.toString();
+    }
+
+    /**
+     * Strips one pair of matching single or double quotes, which the input splitter leaves on.
+     */
+    private static String unquote(String arg) {
+        if (arg.length() >= 2 && (arg.charAt(0) == '\'' || arg.charAt(0) == '"')
+                && arg.charAt(arg.length() - 1) == arg.charAt(0))
+            return arg.substring(1, arg.length() - 1);
+        return arg;
+    }
+
+    /**
+     * Returns the characters of a glob before its first wildcard.
+     */
+    private static String literalPrefix(String glob) {
+        var i = 0;
+        while (i < glob.length() && "*?[".indexOf(glob.charAt(i)) < 0)
+            i++;
+        return glob.substring(0, i);
+    }
+
+    /**
+     * Compiles a shell glob to an equivalent regex: * matches any run of characters, ? any one
+     * character, and [abc], [a-z] or [!abc] one character from (or not from) a set. Everything
+     * else, including a [ with no closing ], matches itself.
+     */
+    private static Pattern globToRegex(String glob) {
+        var regex = new StringBuilder();
+        var i = 0;
+        while (i < glob.length()) {
+            var c = glob.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '[' && classEnd(glob, i) > 0) {
+                var end = classEnd(glob, i);
+                var j = i + 1;
+                regex.append('[');
+                if (glob.charAt(j) == '!') {
+                    regex.append('^');
+                    j++;
+                }
+                for (; j < end; j++) {
+                    var d = glob.charAt(j);
+                    if (d == '\\' || d == '[' || d == ']' || d == '&' || d == '^')
+                        regex.append('\\');
+                    regex.append(d);
+                }
+                regex.append(']');
+                i = end;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
             }
+            i++;
         }
-        return nodes_matching;
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Returns the index of the ] that closes the [ at start, or -1 if there is none. A ] right
+     * after the [ (or after [!) is part of the set rather than its end.
+     */
+    private static int classEnd(String glob, int start) {
+        var i = start + 1;
+        if (i < glob.length() && glob.charAt(i) == '!')
+            i++;
+        if (i < glob.length() && glob.charAt(i) == ']')
+            i++;
+        while (i < glob.length() && glob.charAt(i) != ']')
+            i++;
+        return i < glob.length() ? i : -1;
     }
 
     /**
@@ -409,14 +555,14 @@ public class Navigator {
      * subdirectories.
      */
     private void count(String[] args) {
-        System.out.println(this.currentDirectory.getTotalNodeCount() - 1);
+        System.out.println(this.currentDirectory.getStats().getNodeCount() - 1);
     }
 
     /**
      * Prints the total size of all files reachable from the current directory.
      */
     private void size(String[] args) {
-        System.out.println(this.currentDirectory.getSize());
+        System.out.println(this.currentDirectory.getStats().getSize());
     }
 
     /**
@@ -432,7 +578,7 @@ public class Navigator {
      * this directory to any file or subdirectory beneath it. An empty directory has value 0.
      */
     private void height(String[] args) {
-        System.out.println(this.currentDirectory.getHeight());
+        System.out.println(this.currentDirectory.getStats().getHeight());
     }
 
     /**
@@ -440,6 +586,13 @@ public class Navigator {
      */
     private void quit(String[] args) {
         shouldExit = true;
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("could not write journal: " + e.getMessage());
+            }
+        }
     }
 
     /**
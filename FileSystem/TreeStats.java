@@ -0,0 +1,43 @@
+/**
+ * The aggregates of one subtree of the file system: total file size, number of nodes (including
+ * the subtree's root) and height. Instances are immutable snapshots; they do not change when the
+ * tree does.
+ */
+public class TreeStats {
+
+    private final int size;
+    private final int nodeCount;
+    private final int height;
+
+    public TreeStats(int size, int nodeCount, int height) {
+        this.size = size;
+        this.nodeCount = nodeCount;
+        this.height = height;
+    }
+
+    /**
+     * Returns the total size of all files in the subtree.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns how many nodes the subtree has, counting its root.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the longest downward distance from the subtree's root to any node in it.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size + ", nodes=" + nodeCount + ", height=" + height;
+    }
+}
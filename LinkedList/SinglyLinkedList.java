@@ -1,16 +1,23 @@
 // Implements a singly-linked list.
+// Remembers the last node reached by index (the "finger"), so an index at or
+// after it is reached by walking on from there instead of from the head:
+// loops like get(0), get(1), get(2), ... cost O(1) each instead of O(i).
 
 
 public class SinglyLinkedList<E> {
 	private ListNode<E> head;
 	private ListNode<E> tail;
 	private int nodeCount;
+	private ListNode<E> finger; // last node reached by index, or null
+	private int fingerIndex; // index of finger
 
 	// Constructor: creates an empty list
 	public SinglyLinkedList() {
 		this.head = null;
 		this.tail = null;
 		this.nodeCount = 0;
+		this.finger = null;
+		this.fingerIndex = 0;
 	}
 
 	// Constructor: creates a list that contains
@@ -83,6 +90,7 @@ public class SinglyLinkedList<E> {
 		ListNode<E> prev = null;
 		while (node != null) {
 			if (node.getValue().equals(obj)) {
+				this.finger = null;
 				if (prev == null)
 					this.head = node.getNext();
 				else
@@ -104,73 +112,39 @@ public class SinglyLinkedList<E> {
 		if (i >= this.nodeCount || i < 0)
 			throw new IndexOutOfBoundsException();
 
-		int count = 0;
-		for (ListNode<E> j = this.head; j != null; j = j.getNext()) {
-			if (count == i) {
-				return j.getValue();
-			}
-			count++;
-		}
-		return null;
+		return nodeAt(i).getValue();
 	}
 
 	// Replaces the i-th element with obj and returns the old value.
 	public E set(int i, E obj) {
-
 		if (i >= this.nodeCount || i < 0)
 			throw new IndexOutOfBoundsException();
 
-		int count = 0;
-		ListNode<E> prev = null;
-		for (ListNode<E> j = this.head; j != null; j = j.getNext()) {
-			if (count == i) {
-
-				ListNode<E> new_node = new ListNode<E>(obj);
-				if (prev == null) {
-					ListNode<E> old_head = this.head;
-					this.head = new_node;
-					new_node.setNext(old_head.getNext());
-					return null;
-				}
-				prev.setNext(new_node);
-				new_node.setNext(j.getNext());
-				return j.getValue();
-			}
-			prev = j;
-			count++;
-		}
-
-		return null;
+		ListNode<E> node = nodeAt(i);
+		E old = node.getValue();
+		node.setValue(obj);
+		return old;
 	}
 
 	// Inserts obj to become the i-th element. Increments the size
 	// of the list by one.
 	public void add(int i, E obj) {
-		if (i == 0) {
-			ListNode<E> old_head = this.head;
-			this.head = new ListNode<E>(obj);
-			this.head.setNext(old_head);
-			if (this.nodeCount == 0)
-				this.tail = this.head;
-		} else if (i == this.nodeCount) {
-			this.add(obj);
-		} else if (i >= this.nodeCount || i < 0)
+		if (i > this.nodeCount || i < 0)
 			throw new IndexOutOfBoundsException();
 
-		int count = 0;
-		for (ListNode<E> j = this.head; j != null; j = j.getNext()) {
-			if (count == i - 1) {
-				ListNode<E> new_node = new ListNode<E>(obj);
-				ListNode<E> to_point = j.getNext();
-				j.setNext(new_node);
-				new_node.setNext(to_point);
-				this.nodeCount++;
-				break;
-			}
-			count++;
+		if (i == this.nodeCount) {
+			this.add(obj);
+		} else if (i == 0) {
+			this.head = new ListNode<E>(obj, this.head);
+			this.nodeCount++;
+			if (this.finger != null)
+				this.fingerIndex++;
+		} else {
+			// nodeAt leaves the finger on prev, which keeps its index
+			ListNode<E> prev = nodeAt(i - 1);
+			prev.setNext(new ListNode<E>(obj, prev.getNext()));
+			this.nodeCount++;
 		}
-
-		this.nodeCount++;
 	}
 
 	// Removes the i-th element and returns its value.
@@ -179,23 +153,44 @@ public class SinglyLinkedList<E> {
 		if (i >= this.nodeCount || i < 0)
 			throw new IndexOutOfBoundsException();
 
-		int count = 0;
 		ListNode<E> prev = null;
-		for (ListNode<E> node = this.head; node != null; node = node.getNext()) {
-			if (count == i) {
-				if (prev == null) {
-					this.head = node.getNext();
-					return this.head.getValue();
-				}
-				prev.setNext(node.getNext());
-				return node.getValue();
-			}
-			prev = node;
-			count++;
+		ListNode<E> node;
+		if (i == 0) {
+			node = this.head;
+			this.head = node.getNext();
+			if (this.finger == node)
+				this.finger = null;
+			else if (this.finger != null)
+				this.fingerIndex--;
+		} else {
+			prev = nodeAt(i - 1);
+			node = prev.getNext();
+			prev.setNext(node.getNext());
 		}
+		if (node == this.tail)
+			this.tail = prev;
+		this.nodeCount--;
+		return node.getValue();
+	}
 
-
-		return null;
+	// Returns the node at index i (0 <= i < nodeCount), taking the tail directly
+	// for the last index, and otherwise walking from the finger when it is at or
+	// before i, and from the head if not; the finger then moves to the returned node
+	private ListNode<E> nodeAt(int i) {
+		ListNode<E> node = this.head;
+		int index = 0;
+		if (i == this.nodeCount - 1) {
+			node = this.tail;
+			index = i;
+		} else if (this.finger != null && this.fingerIndex <= i) {
+			node = this.finger;
+			index = this.fingerIndex;
+		}
+		for (; index < i; index++)
+			node = node.getNext();
+		this.finger = node;
+		this.fingerIndex = i;
+		return node;
 	}
 
 	// Returns a string representation of this list exactly like that for MyArrayList.
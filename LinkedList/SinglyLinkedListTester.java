@@ -1,3 +1,6 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class SinglyLinkedListTester {
     public static void main(String[] args) {
@@ -8,5 +11,88 @@ public class SinglyLinkedListTester {
 
         System.out.println(linked_list.toString());
         System.out.println(linked_list.indexOf("world"));
+
+        // Sequential access by index goes through the finger; 100000 elements would take
+        // billions of steps if every get walked from the head
+        int n = 100000;
+        var list = new SinglyLinkedList<Integer>();
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        boolean getsMatch = true;
+        for (int i = 0; i < n; i++)
+            getsMatch &= list.get(i).equals(expected.get(i));
+        check(getsMatch, "get(0), get(1), ... returns every element in order");
+
+        boolean setsMatch = true;
+        for (int i = 0; i < n; i++)
+            setsMatch &= list.set(i, -i).equals(expected.set(i, -i));
+        check(setsMatch && same(list, expected), "set(0), set(1), ... replaces every element");
+
+        // Reading the last element must leave the finger where the next get can use it
+        check(list.get(n - 1).equals(expected.get(n - 1))
+                && list.get(n - 2).equals(expected.get(n - 2))
+                && list.get(n - 1).equals(expected.get(n - 1)),
+                "get of the last element, then the one before it, then the last again");
+
+        // add(i) after every existing element, walking forward through the list
+        for (int i = 1; i <= 2 * n; i += 2) {
+            list.add(i, i);
+            expected.add(i, i);
+        }
+        check(same(list, expected), "add(1), add(3), ... inserts after every element");
+
+        // remove(i) of every other element, walking forward through the list
+        boolean removesMatch = true;
+        for (int i = 0; i < list.size(); i++)
+            removesMatch &= list.remove(i).equals(expected.remove(i));
+        check(removesMatch && same(list, expected),
+                "remove(0), remove(1), ... removes every other element");
+
+        // Random operations, which move the finger backwards as well as forwards
+        var random = new Random(42);
+        var small = new SinglyLinkedList<Integer>();
+        var smallExpected = new ArrayList<Integer>();
+        boolean randomMatches = true;
+        for (int step = 0; step < 20000 && randomMatches; step++) {
+            int size = smallExpected.size();
+            int op = random.nextInt(5);
+            if (op == 0 || size == 0) {
+                int i = random.nextInt(size + 1);
+                small.add(i, step);
+                smallExpected.add(i, step);
+            } else if (op == 1) {
+                int i = random.nextInt(size);
+                randomMatches = small.remove(i).equals(smallExpected.remove(i));
+            } else if (op == 2) {
+                int i = random.nextInt(size);
+                randomMatches = small.set(i, step).equals(smallExpected.set(i, step));
+            } else if (op == 3) {
+                int i = random.nextInt(size);
+                randomMatches = small.get(i).equals(smallExpected.get(i));
+            } else {
+                Integer value = smallExpected.get(random.nextInt(size));
+                randomMatches = small.remove(value) == smallExpected.remove(value);
+            }
+            randomMatches &= small.size() == smallExpected.size();
+        }
+        check(randomMatches && same(small, smallExpected),
+                "random add, remove, set and get by index match ArrayList");
+        check(small.isEmpty()
+                || small.getTail().getValue().equals(smallExpected.get(smallExpected.size() - 1)),
+                "the tail is the last element after random operations");
+    }
+
+    private static boolean same(SinglyLinkedList<Integer> list, List<Integer> expected) {
+        var values = new ArrayList<Integer>();
+        for (ListNode<Integer> node = list.getHead(); node != null; node = node.getNext())
+            values.add(node.getValue());
+        return values.equals(expected) && list.size() == expected.size();
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
     }
 }
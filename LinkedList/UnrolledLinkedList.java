@@ -0,0 +1,246 @@
+// Implements a list with the same API as SinglyLinkedList, but as an unrolled
+// linked list: each node holds a small array block of up to blockCapacity
+// elements instead of a single element. Traversal touches one node header
+// per block instead of per element, and the elements of a block sit next to
+// each other in memory.
+// Blocks split in half when full, and a block that drops below half full
+// absorbs its successor whenever the two fit in one block. Like
+// SinglyLinkedList it remembers the last block reached by index, so
+// sequential indexed access does not rescan from the head.
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class UnrolledLinkedList<E> {
+	public static final int DEFAULT_BLOCK_CAPACITY = 64;
+
+	// A node of the list: elements[0, count) are live
+	private static class Block {
+		private final Object[] elements;
+		private int count;
+		private Block next;
+
+		Block(int capacity) {
+			this.elements = new Object[capacity];
+		}
+	}
+
+	private final int blockCapacity;
+	private Block head;
+	private Block tail;
+	private int nodeCount; // number of elements (not blocks)
+	private Block finger; // last block reached by index, or null
+	private int fingerStart; // index of finger's first element
+
+	// Constructor: creates an empty list
+	public UnrolledLinkedList() {
+		this(DEFAULT_BLOCK_CAPACITY);
+	}
+
+	// Constructor: creates an empty list whose blocks hold blockCapacity elements
+	public UnrolledLinkedList(int blockCapacity) {
+		if (blockCapacity < 2)
+			throw new IllegalArgumentException(
+					"Block capacity must be at least 2: " + blockCapacity);
+		this.blockCapacity = blockCapacity;
+		this.head = new Block(blockCapacity);
+		this.tail = this.head;
+		this.nodeCount = 0;
+		this.finger = null;
+	}
+
+	// Constructor: creates a list that contains
+	// all elements from the array values, in the same order
+	public UnrolledLinkedList(E[] values) {
+		this();
+		for (E value : values)
+			this.add(value);
+	}
+
+	// Returns true if this list is empty; otherwise returns false.
+	public boolean isEmpty() {
+		return this.nodeCount == 0;
+	}
+
+	// Returns the number of elements in this list.
+	public int size() {
+		return this.nodeCount;
+	}
+
+	// Returns true if this list contains an element equal to obj;
+	// otherwise returns false.
+	public boolean contains(E obj) {
+		return indexOf(obj) != -1;
+	}
+
+	// Returns the index of the first element in equal to obj;
+	// if not found, returns -1.
+	public int indexOf(E obj) {
+		int start = 0;
+		for (Block block = this.head; block != null; block = block.next) {
+			for (int k = 0; k < block.count; k++)
+				if (Objects.equals(block.elements[k], obj))
+					return start + k;
+			start += block.count;
+		}
+		return -1;
+	}
+
+	// Adds obj to this collection. Returns true if successful;
+	// otherwise returns false.
+	public boolean add(E obj) {
+		if (this.tail.count == this.blockCapacity) {
+			Block block = new Block(this.blockCapacity);
+			this.tail.next = block;
+			this.tail = block;
+		}
+		this.tail.elements[this.tail.count++] = obj;
+		this.nodeCount++;
+		return true;
+	}
+
+	// Removes the first element that is equal to obj, if any.
+	// Returns true if successful; otherwise returns false.
+	public boolean remove(E obj) {
+		int index = indexOf(obj);
+		if (index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+
+	// Returns the i-th element.
+	@SuppressWarnings("unchecked")
+	public E get(int i) {
+		checkIndex(i);
+		Block block = blockAt(i);
+		return (E) block.elements[i - this.fingerStart];
+	}
+
+	// Replaces the i-th element with obj and returns the old value.
+	@SuppressWarnings("unchecked")
+	public E set(int i, E obj) {
+		checkIndex(i);
+		Block block = blockAt(i);
+		int k = i - this.fingerStart;
+		E old = (E) block.elements[k];
+		block.elements[k] = obj;
+		return old;
+	}
+
+	// Inserts obj to become the i-th element. Increments the size
+	// of the list by one.
+	public void add(int i, E obj) {
+		if (i > this.nodeCount || i < 0)
+			throw new IndexOutOfBoundsException();
+		if (i == this.nodeCount) {
+			this.add(obj);
+			return;
+		}
+
+		Block block = blockAt(i);
+		int k = i - this.fingerStart;
+		if (block.count == this.blockCapacity) {
+			// Move the back half into a new block after this one
+			Block back = split(block);
+			if (k > block.count) {
+				k -= block.count;
+				this.fingerStart += block.count;
+				this.finger = back;
+				block = back;
+			}
+		}
+		System.arraycopy(block.elements, k, block.elements, k + 1, block.count - k);
+		block.elements[k] = obj;
+		block.count++;
+		this.nodeCount++;
+	}
+
+	// Removes the i-th element and returns its value.
+	// Decrements the size of the list by one.
+	@SuppressWarnings("unchecked")
+	public E remove(int i) {
+		checkIndex(i);
+		Block block = blockAt(i);
+		int k = i - this.fingerStart;
+		E old = (E) block.elements[k];
+		System.arraycopy(block.elements, k + 1, block.elements, k, block.count - k - 1);
+		block.elements[--block.count] = null;
+		this.nodeCount--;
+
+		// Keep blocks at least half full by pulling in the next block when they fit together
+		Block next = block.next;
+		if (next != null && block.count + next.count <= this.blockCapacity
+				&& block.count < this.blockCapacity / 2) {
+			System.arraycopy(next.elements, 0, block.elements, block.count, next.count);
+			block.count += next.count;
+			block.next = next.next;
+			if (next == this.tail)
+				this.tail = block;
+		} else if (block.count == 0 && block != this.head) {
+			// Only the last block can empty out without a merge; drop it
+			Block prev = this.head;
+			while (prev.next != block)
+				prev = prev.next;
+			prev.next = block.next;
+			if (block == this.tail)
+				this.tail = prev;
+			this.finger = null;
+		}
+		return old;
+	}
+
+	// Returns a string representation of this list exactly like that for MyArrayList.
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append('[');
+		for (Block block = this.head; block != null; block = block.next) {
+			for (int k = 0; k < block.count; k++) {
+				if (str.length() > 1)
+					str.append(", ");
+				str.append(block.elements[k]);
+			}
+		}
+		str.append(']');
+		return str.toString();
+	}
+
+	// Returns the block holding index i (0 <= i < nodeCount) and leaves the finger
+	// on it, so fingerStart is that block's first index; walks from the finger
+	// when it is at or before i, and from the head otherwise
+	private Block blockAt(int i) {
+		Block block = this.head;
+		int start = 0;
+		if (this.finger != null && this.fingerStart <= i) {
+			block = this.finger;
+			start = this.fingerStart;
+		}
+		while (i >= start + block.count) {
+			start += block.count;
+			block = block.next;
+		}
+		this.finger = block;
+		this.fingerStart = start;
+		return block;
+	}
+
+	// Moves the back half of a full block into a new block right after it; returns the new block
+	private Block split(Block block) {
+		Block back = new Block(this.blockCapacity);
+		int keep = block.count / 2;
+		back.count = block.count - keep;
+		System.arraycopy(block.elements, keep, back.elements, 0, back.count);
+		Arrays.fill(block.elements, keep, block.count, null);
+		block.count = keep;
+		back.next = block.next;
+		block.next = back;
+		if (block == this.tail)
+			this.tail = back;
+		return back;
+	}
+
+	private void checkIndex(int i) {
+		if (i >= this.nodeCount || i < 0)
+			throw new IndexOutOfBoundsException();
+	}
+}
@@ -0,0 +1,78 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+public class UnrolledLinkedListTester {
+    public static void main(String[] args) {
+        // Small blocks split and merge all the time, which is where the block bookkeeping breaks
+        for (int blockCapacity = 2; blockCapacity <= 4; blockCapacity++)
+            checkAgainstArrayList(blockCapacity, new Random(blockCapacity));
+
+        var fromArray = new UnrolledLinkedList<String>(new String[] {"hello", "world"});
+        check(fromArray.toString().equals("[hello, world]") && fromArray.indexOf("world") == 1,
+                "the array constructor keeps every value in order");
+        check(new UnrolledLinkedList<String>().toString().equals("[]"),
+                "an empty list prints as []");
+
+        boolean rejectsCapacity;
+        try {
+            new UnrolledLinkedList<String>(1);
+            rejectsCapacity = false;
+        } catch (IllegalArgumentException e) {
+            rejectsCapacity = true;
+        }
+        check(rejectsCapacity, "a block capacity below 2 is rejected");
+    }
+
+    // Runs random adds, removes and lookups on a list with the given block capacity and on an
+    // ArrayList, growing the list for a while and then shrinking it to empty
+    private static void checkAgainstArrayList(int blockCapacity, Random random) {
+        var list = new UnrolledLinkedList<Integer>(blockCapacity);
+        var expected = new ArrayList<Integer>();
+        boolean matches = true;
+        for (int step = 0; step < 40000 && matches; step++) {
+            int size = expected.size();
+            // Grow for the first half, then shrink
+            boolean grow = step < 20000 ? random.nextInt(3) > 0 : random.nextInt(3) == 0;
+            int op = random.nextInt(4);
+            if (size == 0 || grow && op < 2) {
+                if (op == 0) {
+                    list.add(step);
+                    expected.add(step);
+                } else {
+                    int i = random.nextInt(size + 1);
+                    list.add(i, step);
+                    expected.add(i, step);
+                }
+            } else if (!grow && op < 2) {
+                if (op == 0) {
+                    int i = random.nextInt(size);
+                    matches = list.remove(i).equals(expected.remove(i));
+                } else {
+                    Integer value = expected.get(random.nextInt(size));
+                    matches = list.remove(value) == expected.remove(value);
+                }
+            } else if (op == 2) {
+                int i = random.nextInt(size);
+                matches = list.get(i).equals(expected.get(i))
+                        && list.set(i, -step).equals(expected.set(i, -step));
+            } else {
+                // A value that is present about half the time
+                Integer value = random.nextBoolean() ? expected.get(random.nextInt(size)) : -1;
+                matches = list.contains(value) == expected.contains(value)
+                        && list.indexOf(value) == expected.indexOf(value);
+            }
+            matches &= list.size() == expected.size() && list.isEmpty() == expected.isEmpty();
+            if (step % 1000 == 0)
+                matches &= list.toString().equals(expected.toString());
+        }
+        while (matches && !expected.isEmpty())
+            matches = list.remove(0).equals(expected.remove(0));
+        check(matches && list.isEmpty() && list.toString().equals("[]"),
+                "random adds, removes, gets and sets match ArrayList with blocks of "
+                        + blockCapacity);
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+    }
+}
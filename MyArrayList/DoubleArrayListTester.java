@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class DoubleArrayListTester {
+    private static final double[] SPECIAL = {0.0, -0.0, Double.NaN, 0.5, Double.MIN_VALUE};
+
+    public static void main(String[] args) {
+        // Random edits at a small capacity and a slow growth factor, so the list grows often
+        var random = new Random(42);
+        var list = new DoubleArrayList(1, 1.1);
+        var expected = new ArrayList<Double>();
+        boolean matches = true;
+        for (int step = 0; step < 20000 && matches; step++) {
+            int size = expected.size();
+            // Mostly small whole numbers, so values repeat, plus the values that compare oddly
+            double value = random.nextInt(10) > 0 ? random.nextInt(100) - 50
+                    : SPECIAL[random.nextInt(SPECIAL.length)];
+            switch (size == 0 ? 0 : random.nextInt(6)) {
+                case 0 -> matches = list.add(value) && expected.add(value);
+                case 1 -> {
+                    int i = random.nextInt(size + 1);
+                    list.add(i, value);
+                    expected.add(i, value);
+                }
+                case 2 -> {
+                    int i = random.nextInt(size);
+                    matches = Double.compare(list.remove(i), expected.remove(i)) == 0;
+                }
+                case 3 -> matches =
+                        list.removeValue(value) == expected.remove(Double.valueOf(value));
+                case 4 -> {
+                    int i = random.nextInt(size);
+                    matches = Double.compare(list.set(i, value), expected.set(i, value)) == 0
+                            && Double.compare(list.get(i), expected.get(i)) == 0;
+                }
+                default -> matches = list.indexOf(value) == expected.indexOf(value)
+                        && list.contains(value) == expected.contains(value);
+            }
+            matches &= list.size() == expected.size() && list.isEmpty() == expected.isEmpty()
+                    && list.capacity() >= list.size();
+        }
+        check(matches && same(list, expected), "random edits match ArrayList");
+
+        // With a NaN in the list, sum, min and max are all NaN
+        check(list.contains(Double.NaN) && Double.isNaN(list.sum()) && Double.isNaN(list.min())
+                && Double.isNaN(list.max()), "sum, min and max of a list holding NaN are NaN");
+        while (list.removeValue(Double.NaN))
+            expected.remove(Double.valueOf(Double.NaN));
+        double expectedSum = 0;
+        for (double value : expected)
+            expectedSum += value;
+        check(!expected.contains(Double.NaN) && list.sum() == expectedSum
+                && list.min() == Collections.min(expected)
+                && list.max() == Collections.max(expected), "sum, min and max match ArrayList");
+
+        check(list.addAll(new double[] {7, 8, 9}) && !list.addAll(new double[0]),
+                "addAll reports whether the list changed");
+        expected.addAll(List.of(7.0, 8.0, 9.0));
+        list.sort();
+        Collections.sort(expected);
+        check(same(list, expected), "addAll and sort match ArrayList");
+
+        list.trimToSize();
+        check(list.capacity() == list.size(), "trimToSize leaves no spare capacity");
+        list.ensureCapacity(list.size() + 100);
+        check(list.capacity() >= list.size() + 100 && same(list, expected),
+                "ensureCapacity grows without changing the values");
+
+        // Values are matched like Double.equals: 0.0 and -0.0 differ, and NaN finds NaN
+        var zeros = new DoubleArrayList();
+        zeros.addAll(new double[] {0.0, -0.0, Double.NaN});
+        check(zeros.indexOf(-0.0) == 1 && zeros.indexOf(0.0) == 0
+                && zeros.indexOf(Double.NaN) == 2,
+                "indexOf tells 0.0 from -0.0 and finds NaN");
+        zeros.sort();
+        check(zeros.toString().equals("[-0.0, 0.0, NaN]"),
+                "sort puts -0.0 before 0.0 and NaN last");
+
+        var empty = new DoubleArrayList(0);
+        check(empty.toString().equals("[]") && empty.sum() == 0 && throwsNoSuchElement(empty),
+                "an empty list prints as [], sums to 0, and has no min or max");
+        check(throwsOutOfBounds(() -> empty.get(0)) && throwsOutOfBounds(() -> list.get(-1))
+                && throwsOutOfBounds(() -> list.add(list.size() + 1, 0))
+                && throwsOutOfBounds(() -> list.remove(list.size())),
+                "indexes outside the list throw IndexOutOfBoundsException");
+    }
+
+    private static boolean same(DoubleArrayList list, ArrayList<Double> expected) {
+        double[] values = list.toArray();
+        if (values.length != expected.size() || list.size() != expected.size())
+            return false;
+        for (int i = 0; i < values.length; i++)
+            if (Double.compare(values[i], expected.get(i)) != 0)
+                return false;
+        return list.toString().equals(expected.toString());
+    }
+
+    private static boolean throwsNoSuchElement(DoubleArrayList list) {
+        try {
+            list.min();
+            return false;
+        } catch (NoSuchElementException e) {
+            try {
+                list.max();
+                return false;
+            } catch (NoSuchElementException e2) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean throwsOutOfBounds(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+    }
+}
@@ -0,0 +1,253 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+ * A MyArrayList specialized for int values. Stores an int[] directly instead of an Object[] of
+ * Integers, so each value takes 4 bytes rather than a reference plus a boxed object. sum() adds
+ * into a long, so it cannot overflow even for a full list of Integer.MAX_VALUE.
+ */
+
+/*
+ * Your indexed functions should throw IndexOutOfBoundsException if index is invalid!
+ */
+
+
+public class IntArrayList {
+
+	/* Internal value counter */
+	protected int objectCount;
+
+	/* Internal int array */
+	protected int[] internalArray;
+
+	/* How much the capacity is multiplied by on each reallocation (always > 1) */
+	protected double growthFactor;
+
+	/* Constructor: same default capacity as MyArrayList */
+	public IntArrayList() {
+		this(100);
+	}
+
+	/* Constructor with initial capacity */
+	// O(1)
+	public IntArrayList(int initialCapacity) {
+		this(initialCapacity, MyArrayList.DEFAULT_GROWTH_FACTOR);
+	}
+
+	/* Constructor with initial capacity and the growth policy used when the array fills up */
+	// O(1)
+	public IntArrayList(int initialCapacity, double growthFactor) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+		if (!(growthFactor > 1.0))
+			throw new IllegalArgumentException("Growth factor must be > 1: " + growthFactor);
+		this.internalArray = new int[initialCapacity];
+		this.growthFactor = growthFactor;
+	}
+
+	/* Return the number of active slots in the array list */
+	// O(1)
+	public int size() {
+		return this.objectCount;
+	}
+
+	/* Are there zero values in the array list? */
+	// O(1)
+	public boolean isEmpty() {
+		return this.objectCount == 0;
+	}
+
+	/* Returns the number of slots in the backing array */
+	// O(1)
+	public int capacity() {
+		return this.internalArray.length;
+	}
+
+	/* Get the index-th value in the list. */
+	// O(1)
+	public int get(int index) {
+		if (index >= this.objectCount || index < 0)
+			throw new IndexOutOfBoundsException();
+		return this.internalArray[index];
+	}
+
+	/* Replace the value at index with value. returns value that was replaced. */
+	// O(1)
+	public int set(int index, int value) {
+		if (index >= this.objectCount || index < 0)
+			throw new IndexOutOfBoundsException();
+		int temp = this.internalArray[index];
+		this.internalArray[index] = value;
+		return temp;
+	}
+
+	/* Returns the lowest index holding value, or -1 if there is none. */
+	// O(n)
+	public int indexOf(int value) {
+		for (int i = 0; i < this.objectCount; i++)
+			if (this.internalArray[i] == value)
+				return i;
+		return -1;
+	}
+
+	/* Returns true if this list contains value; otherwise returns false. */
+	// O(n)
+	public boolean contains(int value) {
+		return indexOf(value) != -1;
+	}
+
+	/* Insert a value at index */
+	// O(n)
+	public void add(int index, int value) {
+		if (index > this.objectCount || index < 0)
+			throw new IndexOutOfBoundsException();
+
+		if (this.internalArray.length > this.objectCount) {
+			System.arraycopy(this.internalArray, index, this.internalArray, index + 1,
+					this.objectCount - index);
+		} else {
+			int[] arr = new int[grownCapacity(this.objectCount + 1)];
+			System.arraycopy(this.internalArray, 0, arr, 0, index);
+			System.arraycopy(this.internalArray, index, arr, index + 1, this.objectCount - index);
+			this.internalArray = arr;
+		}
+		this.internalArray[index] = value;
+		this.objectCount++;
+	}
+
+	/* Add a value to the end of the list; returns true */
+	// O(1) amortized
+	public boolean add(int value) {
+		if (this.internalArray.length == this.objectCount)
+			this.internalArray = Arrays.copyOf(this.internalArray,
+					grownCapacity(this.objectCount + 1));
+		this.internalArray[this.objectCount++] = value;
+		return true;
+	}
+
+	/* Appends every value in values, in order. Grows at most once. */
+	// O(m) amortized, m = values.length
+	public boolean addAll(int[] values) {
+		if (values.length == 0)
+			return false;
+		ensureCapacity(this.objectCount + values.length);
+		System.arraycopy(values, 0, this.internalArray, this.objectCount, values.length);
+		this.objectCount += values.length;
+		return true;
+	}
+
+	/* Remove the value at index and shift. Returns removed value. */
+	// O(n)
+	public int remove(int index) {
+		if (index >= this.objectCount || index < 0)
+			throw new IndexOutOfBoundsException();
+
+		int ret = this.internalArray[index];
+		System.arraycopy(this.internalArray, index + 1, this.internalArray, index,
+				this.objectCount - index - 1);
+		this.objectCount--;
+		return ret;
+	}
+
+	/*
+	 * Removes the first occurrence of value, if present. Named removeValue rather than remove so it
+	 * cannot be confused with remove(int index). Returns true if the list changed.
+	 */
+	// O(n)
+	public boolean removeValue(int value) {
+		int index = indexOf(value);
+		if (index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+
+	/*
+	 * Grows the backing array so it can hold at least minCapacity values without another
+	 * reallocation. Never shrinks the array.
+	 */
+	// O(n)
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > this.internalArray.length)
+			this.internalArray = Arrays.copyOf(this.internalArray, grownCapacity(minCapacity));
+	}
+
+	/* Shrinks the backing array down to exactly the number of values in the list */
+	// O(n)
+	public void trimToSize() {
+		if (this.internalArray.length > this.objectCount)
+			this.internalArray = Arrays.copyOf(this.internalArray, this.objectCount);
+	}
+
+	/* Returns the sum of every value in the list (accumulated as a long so it cannot overflow) */
+	// O(n)
+	public long sum() {
+		long total = 0;
+		for (int i = 0; i < this.objectCount; i++)
+			total += this.internalArray[i];
+		return total;
+	}
+
+	/* Returns the smallest value in the list; throws NoSuchElementException if it is empty */
+	// O(n)
+	public int min() {
+		if (this.objectCount == 0)
+			throw new NoSuchElementException();
+		int min = this.internalArray[0];
+		for (int i = 1; i < this.objectCount; i++)
+			min = Math.min(min, this.internalArray[i]);
+		return min;
+	}
+
+	/* Returns the largest value in the list; throws NoSuchElementException if it is empty */
+	// O(n)
+	public int max() {
+		if (this.objectCount == 0)
+			throw new NoSuchElementException();
+		int max = this.internalArray[0];
+		for (int i = 1; i < this.objectCount; i++)
+			max = Math.max(max, this.internalArray[i]);
+		return max;
+	}
+
+	/* Sorts the list in ascending order */
+	// O(n log n)
+	public void sort() {
+		Arrays.sort(this.internalArray, 0, this.objectCount);
+	}
+
+	/* Returns a new array holding exactly the values in the list, in order */
+	// O(n)
+	public int[] toArray() {
+		return Arrays.copyOf(this.internalArray, this.objectCount);
+	}
+
+	/*
+	 * Returns the capacity to grow to: the current capacity scaled by growthFactor, or minCapacity
+	 * if that is still too small, capped at MyArrayList.MAX_ARRAY_SIZE. Throws OutOfMemoryError if
+	 * minCapacity is above the cap (or overflowed to a negative value).
+	 */
+	// O(1)
+	private int grownCapacity(int minCapacity) {
+		if (minCapacity < 0 || minCapacity > MyArrayList.MAX_ARRAY_SIZE)
+			throw new OutOfMemoryError("Required array size too large");
+		long grown = (long) (Math.max(this.internalArray.length, 1) * this.growthFactor);
+		if (grown <= this.internalArray.length)
+			grown = this.internalArray.length + 1;
+		return (int) Math.min(Math.max(grown, minCapacity), MyArrayList.MAX_ARRAY_SIZE);
+	}
+
+	/* Same format as MyArrayList: "[X, X, X, ...]" */
+	// O(n)
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("[");
+		for (int i = 0; i < this.objectCount; i++) {
+			str.append(this.internalArray[i]);
+			if (i + 1 != this.objectCount) {
+				str.append(", ");
+			}
+		}
+		return str + "]";
+	}
+}
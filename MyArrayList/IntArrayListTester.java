@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IntArrayListTester {
+    public static void main(String[] args) {
+        // Random edits at a small capacity and a slow growth factor, so the list grows often
+        var random = new Random(42);
+        var list = new IntArrayList(1, 1.1);
+        var expected = new ArrayList<Integer>();
+        boolean matches = true;
+        for (int step = 0; step < 20000 && matches; step++) {
+            int size = expected.size();
+            int value = random.nextInt(100) - 50;
+            switch (size == 0 ? 0 : random.nextInt(6)) {
+                case 0 -> matches = list.add(value) && expected.add(value);
+                case 1 -> {
+                    int i = random.nextInt(size + 1);
+                    list.add(i, value);
+                    expected.add(i, value);
+                }
+                case 2 -> {
+                    int i = random.nextInt(size);
+                    matches = list.remove(i) == expected.remove(i);
+                }
+                case 3 -> matches =
+                        list.removeValue(value) == expected.remove(Integer.valueOf(value));
+                case 4 -> {
+                    int i = random.nextInt(size);
+                    matches = list.set(i, value) == expected.set(i, value)
+                            && list.get(i) == expected.get(i);
+                }
+                default -> matches = list.indexOf(value) == expected.indexOf(value)
+                        && list.contains(value) == expected.contains(value);
+            }
+            matches &= list.size() == expected.size() && list.isEmpty() == expected.isEmpty()
+                    && list.capacity() >= list.size();
+        }
+        check(matches && same(list, expected), "random edits match ArrayList");
+
+        long expectedSum = 0;
+        for (int value : expected)
+            expectedSum += value;
+        check(list.sum() == expectedSum && list.min() == Collections.min(expected)
+                && list.max() == Collections.max(expected), "sum, min and max match ArrayList");
+
+        check(list.addAll(new int[] {7, 8, 9}) && !list.addAll(new int[0]),
+                "addAll reports whether the list changed");
+        expected.addAll(List.of(7, 8, 9));
+        list.sort();
+        Collections.sort(expected);
+        check(same(list, expected), "addAll and sort match ArrayList");
+
+        list.trimToSize();
+        check(list.capacity() == list.size(), "trimToSize leaves no spare capacity");
+        list.ensureCapacity(list.size() + 100);
+        check(list.capacity() >= list.size() + 100 && same(list, expected),
+                "ensureCapacity grows without changing the values");
+
+        // A long total cannot overflow, even when every value is Integer.MAX_VALUE
+        var big = new IntArrayList();
+        for (int i = 0; i < 10; i++)
+            big.add(Integer.MAX_VALUE);
+        check(big.sum() == 10L * Integer.MAX_VALUE, "sum of large values does not overflow");
+
+        var empty = new IntArrayList(0);
+        check(empty.toString().equals("[]") && empty.sum() == 0 && throwsNoSuchElement(empty),
+                "an empty list prints as [], sums to 0, and has no min or max");
+        check(throwsOutOfBounds(() -> empty.get(0)) && throwsOutOfBounds(() -> list.get(-1))
+                && throwsOutOfBounds(() -> list.add(list.size() + 1, 0))
+                && throwsOutOfBounds(() -> list.remove(list.size())),
+                "indexes outside the list throw IndexOutOfBoundsException");
+    }
+
+    private static boolean same(IntArrayList list, ArrayList<Integer> expected) {
+        int[] values = list.toArray();
+        if (values.length != expected.size() || list.size() != expected.size())
+            return false;
+        for (int i = 0; i < values.length; i++)
+            if (values[i] != expected.get(i))
+                return false;
+        return list.toString().equals(expected.toString());
+    }
+
+    private static boolean throwsNoSuchElement(IntArrayList list) {
+        try {
+            list.min();
+            return false;
+        } catch (NoSuchElementException e) {
+            try {
+                list.max();
+                return false;
+            } catch (NoSuchElementException e2) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean throwsOutOfBounds(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+    }
+}
@@ -0,0 +1,125 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class LongArrayListTester {
+    public static void main(String[] args) {
+        // Random edits at a small capacity and a slow growth factor, so the list grows often
+        var random = new Random(42);
+        var list = new LongArrayList(1, 1.1);
+        var expected = new ArrayList<Long>();
+        boolean matches = true;
+        for (int step = 0; step < 20000 && matches; step++) {
+            int size = expected.size();
+            long value = random.nextInt(100) - 50;
+            switch (size == 0 ? 0 : random.nextInt(6)) {
+                case 0 -> matches = list.add(value) && expected.add(value);
+                case 1 -> {
+                    int i = random.nextInt(size + 1);
+                    list.add(i, value);
+                    expected.add(i, value);
+                }
+                case 2 -> {
+                    int i = random.nextInt(size);
+                    matches = list.remove(i) == expected.remove(i);
+                }
+                case 3 -> matches =
+                        list.removeValue(value) == expected.remove(Long.valueOf(value));
+                case 4 -> {
+                    int i = random.nextInt(size);
+                    matches = list.set(i, value) == expected.set(i, value)
+                            && list.get(i) == expected.get(i);
+                }
+                default -> matches = list.indexOf(value) == expected.indexOf(value)
+                        && list.contains(value) == expected.contains(value);
+            }
+            matches &= list.size() == expected.size() && list.isEmpty() == expected.isEmpty()
+                    && list.capacity() >= list.size();
+        }
+        check(matches && same(list, expected), "random edits match ArrayList");
+
+        long expectedSum = 0;
+        for (long value : expected)
+            expectedSum += value;
+        check(list.sum() == expectedSum && list.min() == Collections.min(expected)
+                && list.max() == Collections.max(expected), "sum, min and max match ArrayList");
+
+        check(list.addAll(new long[] {7, 8, 9}) && !list.addAll(new long[0]),
+                "addAll reports whether the list changed");
+        expected.addAll(List.of(7L, 8L, 9L));
+        list.sort();
+        Collections.sort(expected);
+        check(same(list, expected), "addAll and sort match ArrayList");
+
+        list.trimToSize();
+        check(list.capacity() == list.size(), "trimToSize leaves no spare capacity");
+        list.ensureCapacity(list.size() + 100);
+        check(list.capacity() >= list.size() + 100 && same(list, expected),
+                "ensureCapacity grows without changing the values");
+
+        // A sum that does not fit in a long throws instead of wrapping around, but a running
+        // total that overflows only part way still gives the right answer
+        var big = new LongArrayList();
+        big.addAll(new long[] {Long.MAX_VALUE, 1});
+        boolean overflowThrows;
+        try {
+            big.sum();
+            overflowThrows = false;
+        } catch (ArithmeticException e) {
+            overflowThrows = true;
+        }
+        check(overflowThrows, "a sum past Long.MAX_VALUE throws ArithmeticException");
+        big.add(-2);
+        check(big.sum() == Long.MAX_VALUE - 1, "values that overflow part way still sum exactly");
+        var negative = new LongArrayList();
+        negative.addAll(new long[] {Long.MIN_VALUE, -1, 1});
+        check(negative.sum() == Long.MIN_VALUE, "the same holds below Long.MIN_VALUE");
+
+        var empty = new LongArrayList(0);
+        check(empty.toString().equals("[]") && empty.sum() == 0 && throwsNoSuchElement(empty),
+                "an empty list prints as [], sums to 0, and has no min or max");
+        check(throwsOutOfBounds(() -> empty.get(0)) && throwsOutOfBounds(() -> list.get(-1))
+                && throwsOutOfBounds(() -> list.add(list.size() + 1, 0))
+                && throwsOutOfBounds(() -> list.remove(list.size())),
+                "indexes outside the list throw IndexOutOfBoundsException");
+    }
+
+    private static boolean same(LongArrayList list, ArrayList<Long> expected) {
+        long[] values = list.toArray();
+        if (values.length != expected.size() || list.size() != expected.size())
+            return false;
+        for (int i = 0; i < values.length; i++)
+            if (values[i] != expected.get(i))
+                return false;
+        return list.toString().equals(expected.toString());
+    }
+
+    private static boolean throwsNoSuchElement(LongArrayList list) {
+        try {
+            list.min();
+            return false;
+        } catch (NoSuchElementException e) {
+            try {
+                list.max();
+                return false;
+            } catch (NoSuchElementException e2) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean throwsOutOfBounds(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+    }
+}
@@ -8,7 +8,22 @@
  */
 
 
-public class MyArrayList<E> {
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class MyArrayList<E> implements Iterable<E> {
+
+	/* Multiplier applied to the capacity when the array runs out of room */
+	public static final double DEFAULT_GROWTH_FACTOR = 2.0;
+
+	/* Largest capacity the list grows to; some VMs reserve header words in an array */
+	public static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
 
 	/* Internal Object counter */
 	protected int objectCount;
@@ -16,17 +31,80 @@ public class MyArrayList<E> {
 	/* Internal Object array */
 	protected E[] internalArray;
 
+	/* How much the capacity is multiplied by on each reallocation (always > 1) */
+	protected double growthFactor;
+
+	/* Bumped on every add/remove so iterators can detect changes made behind their back */
+	protected int modCount;
+
 	/* Constructor: Create it with whatever capacity you want? */
-	@SuppressWarnings("unchecked")
 	public MyArrayList() {
-		this.internalArray = (E[]) new Object[100];
+		this(100);
 	}
 
 	/* Constructor with initial capacity */
 	// O(1)
-	@SuppressWarnings("unchecked")
 	public MyArrayList(int initialCapacity) {
+		this(initialCapacity, DEFAULT_GROWTH_FACTOR);
+	}
+
+	/* Constructor with initial capacity and the growth policy used when the array fills up */
+	// O(1)
+	@SuppressWarnings("unchecked")
+	public MyArrayList(int initialCapacity, double growthFactor) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+		if (!(growthFactor > 1.0))
+			throw new IllegalArgumentException("Growth factor must be > 1: " + growthFactor);
 		this.internalArray = (E[]) new Object[initialCapacity];
+		this.growthFactor = growthFactor;
+	}
+
+	/* Returns the number of slots in the backing array */
+	// O(1)
+	public int capacity() {
+		return this.internalArray.length;
+	}
+
+	/*
+	 * Grows the backing array so it can hold at least minCapacity objects without another
+	 * reallocation. Never shrinks the array.
+	 */
+	// O(n)
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > this.internalArray.length)
+			resize(grownCapacity(minCapacity));
+	}
+
+	/* Shrinks the backing array down to exactly the number of objects in the list */
+	// O(n)
+	public void trimToSize() {
+		if (this.internalArray.length > this.objectCount)
+			resize(this.objectCount);
+	}
+
+	/*
+	 * Returns the capacity to grow to: the current capacity scaled by growthFactor, or minCapacity
+	 * if that is still too small, capped at MAX_ARRAY_SIZE. Throws OutOfMemoryError if minCapacity
+	 * is above the cap (or overflowed to a negative value).
+	 */
+	// O(1)
+	private int grownCapacity(int minCapacity) {
+		if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE)
+			throw new OutOfMemoryError("Required array size too large");
+		long grown = (long) (Math.max(this.internalArray.length, 1) * this.growthFactor);
+		if (grown <= this.internalArray.length)
+			grown = this.internalArray.length + 1;
+		return (int) Math.min(Math.max(grown, minCapacity), MAX_ARRAY_SIZE);
+	}
+
+	/* Copies the live objects into a new backing array of the given capacity */
+	// O(n)
+	@SuppressWarnings("unchecked")
+	private void resize(int newCapacity) {
+		E[] arr = (E[]) new Object[newCapacity];
+		System.arraycopy(this.internalArray, 0, arr, 0, this.objectCount);
+		this.internalArray = arr;
 	}
 
 	/* Return the number of active slots in the array list */
@@ -78,45 +156,72 @@ public class MyArrayList<E> {
 	}
 
 	/* Insert an object at index */
-	// O(n) or O(n^2)
+	// O(n)
 	@SuppressWarnings("unchecked")
 	public void add(int index, E obj) {
 		if (index > this.objectCount || index < 0)
 			throw new IndexOutOfBoundsException();
 
 		if (this.internalArray.length > this.objectCount) {
-			for (int i = this.objectCount - 1; i >= index; i--) {
-				this.internalArray[i + 1] = this.internalArray[i];
-			}
-			this.internalArray[index] = obj;
-			this.objectCount++;
+			System.arraycopy(this.internalArray, index, this.internalArray, index + 1,
+					this.objectCount - index);
 		} else {
-			E[] arr = (E[]) new Object[Math.max(this.internalArray.length, 1) * 2];
-			int count = 0;
-			for (int i = 0; i < this.objectCount + 1; i++) {
-				if (i == index) {
-					arr[i] = obj;
-					continue;
-				}
-				arr[i] = this.internalArray[count++];
-			}
+			// Copy both halves straight into the grown array so nothing is moved twice
+			E[] arr = (E[]) new Object[grownCapacity(this.objectCount + 1)];
+			System.arraycopy(this.internalArray, 0, arr, 0, index);
+			System.arraycopy(this.internalArray, index, arr, index + 1, this.objectCount - index);
 			this.internalArray = arr;
-			this.objectCount++;
 		}
+		this.internalArray[index] = obj;
+		this.objectCount++;
+		this.modCount++;
 	}
 
 	/* Add an object to the end of the list; returns true */
-	// @SuppressWarnings("unchecked")
-	// O(1) or O(n) or O(n^2)
+	// O(1) amortized
 	public boolean add(E obj) {
 		if (this.internalArray.length > this.objectCount) {
 			this.internalArray[this.objectCount++] = obj;
+			this.modCount++;
 		} else {
 			add(this.objectCount, obj);
 		}
 		return true;
 	}
 
+	/*
+	 * Appends every element of c, in the collection's iteration order. Grows at most once. Returns
+	 * true if the list changed.
+	 */
+	// O(m) amortized, m = c.size()
+	public boolean addAll(Collection<? extends E> c) {
+		Object[] src = c.toArray();
+		if (src.length == 0)
+			return false;
+		ensureCapacity(this.objectCount + src.length);
+		System.arraycopy(src, 0, this.internalArray, this.objectCount, src.length);
+		this.objectCount += src.length;
+		this.modCount++;
+		return true;
+	}
+
+	/*
+	 * Appends every element of other, in order. Grows at most once. Adding a list to itself is
+	 * allowed. Returns true if the list changed.
+	 */
+	// O(m) amortized, m = other.size()
+	public boolean addAll(MyArrayList<? extends E> other) {
+		int n = other.objectCount;
+		if (n == 0)
+			return false;
+		ensureCapacity(this.objectCount + n);
+		// Read other.internalArray after growing, in case other == this
+		System.arraycopy(other.internalArray, 0, this.internalArray, this.objectCount, n);
+		this.objectCount += n;
+		this.modCount++;
+		return true;
+	}
+
 	/* Remove the object at index and shift. Returns removed object. */
 	// O(n)
 	public E remove(int index) {
@@ -125,12 +230,12 @@ public class MyArrayList<E> {
 
 		E ret = this.internalArray[index];
 
-		for (int i = index; i < objectCount - 1; i++) {
-			this.internalArray[i] = this.internalArray[i + 1];
-		}
+		System.arraycopy(this.internalArray, index + 1, this.internalArray, index,
+				objectCount - index - 1);
 
 		this.internalArray[objectCount - 1] = null;
 		this.objectCount--;
+		this.modCount++;
 
 		return ret;
 	}
@@ -160,6 +265,132 @@ public class MyArrayList<E> {
 	}
 
 
+	/*
+	 * Returns a fail-fast iterator over the list in index order. If the list is structurally
+	 * modified (add/remove) other than through the iterator's own remove, the iterator throws
+	 * ConcurrentModificationException on its next call.
+	 */
+	// O(1)
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	/*
+	 * Returns a late-binding, fail-fast spliterator that splits the index range in half, so
+	 * parallel streams can hand each half of internalArray to a different worker.
+	 */
+	// O(1)
+	@Override
+	public Spliterator<E> spliterator() {
+		return new MySpliterator(0, -1, 0);
+	}
+
+	/* Sequential stream over the list */
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/* Parallel stream over the list; work is split via spliterator() */
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	private class Itr implements Iterator<E> {
+		private int cursor; // index of the next element to return
+		private int lastRet = -1; // index of the last element returned, -1 if none
+		private int expectedModCount = modCount;
+
+		public boolean hasNext() {
+			return cursor != objectCount;
+		}
+
+		public E next() {
+			checkForComodification();
+			if (cursor >= objectCount)
+				throw new NoSuchElementException();
+			lastRet = cursor++;
+			return internalArray[lastRet];
+		}
+
+		public void remove() {
+			if (lastRet < 0)
+				throw new IllegalStateException();
+			checkForComodification();
+			MyArrayList.this.remove(lastRet);
+			cursor = lastRet;
+			lastRet = -1;
+			expectedModCount = modCount;
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+
+	private class MySpliterator implements Spliterator<E> {
+		private int index; // current index, advanced on tryAdvance/forEachRemaining
+		private int fence; // one past the last index to cover; -1 until first use
+		private int expectedModCount;
+
+		MySpliterator(int origin, int fence, int expectedModCount) {
+			this.index = origin;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		// binds to the current size and modCount the first time it is actually needed
+		private int getFence() {
+			if (fence < 0) {
+				expectedModCount = modCount;
+				fence = objectCount;
+			}
+			return fence;
+		}
+
+		public Spliterator<E> trySplit() {
+			int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+			if (lo >= mid)
+				return null;
+			index = mid;
+			return new MySpliterator(lo, mid, expectedModCount);
+		}
+
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if (action == null)
+				throw new NullPointerException();
+			int hi = getFence(), i = index;
+			if (i >= hi)
+				return false;
+			index = i + 1;
+			action.accept(internalArray[i]);
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			return true;
+		}
+
+		public void forEachRemaining(Consumer<? super E> action) {
+			if (action == null)
+				throw new NullPointerException();
+			int hi = getFence();
+			E[] arr = internalArray;
+			for (int i = index; i < hi; i++)
+				action.accept(arr[i]);
+			index = hi;
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+
+		public long estimateSize() {
+			return getFence() - index;
+		}
+
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
 	/*
 	 * For testing; your string should output as "[X, X, X, X, ...]" where X, X, X, X, ... are the
 	 * elements in the ArrayList. If the array is empty, it should return "[]". If there is one
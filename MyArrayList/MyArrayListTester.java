@@ -1,3 +1,4 @@
+import java.util.ConcurrentModificationException;
 
 public class MyArrayListTester {
     public static void main(String[] args) {
@@ -9,6 +10,73 @@ public class MyArrayListTester {
 
         String s = arr.toString();
         System.out.println(s.charAt(0));
+
+        // Changing the list behind an iterator's back fails fast on the iterator's next step
+        var numbers = new MyArrayList<Integer>();
+        for (int i = 0; i < 1_000_000; i++)
+            numbers.add(i);
+        check(throwsConcurrentModification(() -> {
+            for (int value : numbers)
+                if (value == 10)
+                    numbers.add(-1);
+        }), "adding while iterating throws ConcurrentModificationException");
+        check(throwsConcurrentModification(() -> {
+            for (int value : numbers)
+                if (value == 10)
+                    numbers.remove(Integer.valueOf(0));
+        }), "removing while iterating throws ConcurrentModificationException");
+        check(throwsConcurrentModification(() -> numbers.stream().forEach(value -> {
+            if (value == 10)
+                numbers.add(-1);
+        })), "adding from a stream's forEach throws ConcurrentModificationException");
+
+        // Removing through the iterator itself is allowed
+        var evens = new MyArrayList<Integer>();
+        for (int i = 0; i < 1000; i++)
+            evens.add(i);
+        for (var it = evens.iterator(); it.hasNext();)
+            if (it.next() % 2 == 1)
+                it.remove();
+        boolean onlyEvens = evens.size() == 500;
+        for (int i = 0; i < evens.size(); i++)
+            onlyEvens &= evens.get(i) == 2 * i;
+        check(onlyEvens, "Iterator.remove removes odd values without throwing");
+
+        // A parallel stream splits the list between workers but sees every value once, in order
+        var fresh = new MyArrayList<Long>();
+        for (long i = 0; i < 1_000_000; i++)
+            fresh.add(i);
+        long sequentialSum = fresh.stream().mapToLong(Long::longValue).sum();
+        long parallelSum = fresh.parallelStream().mapToLong(Long::longValue).sum();
+        check(parallelSum == sequentialSum && sequentialSum == 999_999L * 1_000_000 / 2,
+                "parallelStream sum equals the sequential sum");
+        check(fresh.parallelStream().toList().equals(fresh.stream().toList()),
+                "parallelStream keeps the list's order");
+
+        // Asking for more than the largest array fails before anything is allocated
+        var small = new MyArrayList<String>(10);
+        boolean refused;
+        try {
+            small.ensureCapacity(MyArrayList.MAX_ARRAY_SIZE + 1);
+            refused = false;
+        } catch (OutOfMemoryError e) {
+            refused = true;
+        }
+        check(refused && small.capacity() == 10,
+                "ensureCapacity above MAX_ARRAY_SIZE throws OutOfMemoryError");
+    }
+
+    private static boolean throwsConcurrentModification(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (ConcurrentModificationException e) {
+            return true;
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
     }
 }
 
@@ -5,30 +5,19 @@ public class PugSaver {
 	// Moves every dog whose breed is "Pug" in the list to the back of the list
 	// All non-pugs must remain in the same relative order they were in originally
 	// and all pugs must also remain in the same relative order they were in originally
+	// Only the pugs are buffered; everything else is shifted forward in place.
+	// (PugRescue/PugSaver has the general stablePartition this is a case of.)
 	public static void rescuePugs(ArrayList<Dog> list) {
-		ArrayList<Dog> list1 = new ArrayList<Dog>();
-		ArrayList<Dog> listnew = new ArrayList<Dog>();
-
+		ArrayList<Dog> pugs = new ArrayList<Dog>();
+		int write = 0;
 		for (int i = 0; i < list.size(); i++) {
-			if (list.get(i).getBreed().equals("Pug")) {
-				list1.add(list.get(i));
-			} else {
-				listnew.add(list.get(i));
-			}
-		}
- 
-		listnew.addAll(list1);
-
-		for (int i = 0; i < listnew.size(); i++) {
-			list.set(i, listnew.get(i));
+			Dog dog = list.get(i);
+			if (dog.getBreed().equals("Pug"))
+				pugs.add(dog);
+			else
+				list.set(write++, dog);
 		}
-
-		// for (int i = 0; i < list.size(); i++) {
-		// list.set(i, listnew.get(i));
-		// }
-
-		// for (int i = list.size() - 1; i > 0; i--)
-		// if (list.get(i).getBreed().equals("Pug"))
-		// list.addLast(list.remove(i));
+		for (int i = 0; i < pugs.size(); i++)
+			list.set(write++, pugs.get(i));
 	}
 }
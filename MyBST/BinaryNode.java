@@ -6,6 +6,7 @@ public class BinaryNode<E extends Comparable<E>> {
 	private BinaryNode<E> right;
 	private BinaryNode<E> parent;
 	private int height;
+	private int size; // number of nodes in the subtree rooted here
 
 	public BinaryNode(E value) {
 		this.value = value;
@@ -13,6 +14,7 @@ public class BinaryNode<E extends Comparable<E>> {
 		this.right = null;
 		this.parent = null;
 		this.height = 0;
+		this.size = 1;
 	}
 
 	public E getValue() {
@@ -35,18 +37,28 @@ public class BinaryNode<E extends Comparable<E>> {
 		return height;
 	}
 
+	public int getSize() {
+		return size;
+	}
+
 	public void setValue(E value) {
 		this.value = value;
 	}
 
+	// Links left as this node's left child (and this as its parent).
+	// Call updateHeight() afterwards if the subtree shape changed.
 	public void setLeft(BinaryNode<E> left) {
 		this.left = left;
-		this.height = left.getHeight();
+		if (left != null)
+			left.setParent(this);
 	}
 
+	// Links right as this node's right child (and this as its parent).
+	// Call updateHeight() afterwards if the subtree shape changed.
 	public void setRight(BinaryNode<E> right) {
 		this.right = right;
-		this.height = right.getHeight();
+		if (right != null)
+			right.setParent(this);
 	}
 
 	public void setParent(BinaryNode<E> parent) {
@@ -57,6 +69,35 @@ public class BinaryNode<E extends Comparable<E>> {
 		this.height = height;
 	}
 
+	// Recomputes this node's height from its children's (leaves are 0, empty subtrees -1)
+	public void updateHeight() {
+		this.height = 1 + Math.max(height(left), height(right));
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	// Recomputes this node's subtree size from its children's
+	public void updateSize() {
+		this.size = 1 + size(left) + size(right);
+	}
+
+	// Height of the right subtree minus height of the left subtree
+	public int balanceFactor() {
+		return height(right) - height(left);
+	}
+
+	// Height of node, treating an empty subtree as -1
+	public static int height(BinaryNode<?> node) {
+		return node == null ? -1 : node.getHeight();
+	}
+
+	// Subtree size of node, treating an empty subtree as 0
+	public static int size(BinaryNode<?> node) {
+		return node == null ? 0 : node.getSize();
+	}
+
 	public boolean hasLeft() {
 		return left != null;
 	}
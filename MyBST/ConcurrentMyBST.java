@@ -0,0 +1,248 @@
+// A thread-safe BST for read-mostly workloads, with the same read API as MyBST.
+//
+// The tree is persistent: nodes are immutable, and add/remove build a new copy
+// of just the O(log n) nodes on the path they change (sharing every other
+// subtree with the old version), then publish the new root through a volatile
+// field. Readers read that field once and work on that snapshot, so contains,
+// min, max, range and iteration never lock, never block writers, and never see
+// a half-finished update. Writers are serialized with synchronized.
+// The shape is kept AVL-balanced, so every operation is O(log n).
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class ConcurrentMyBST<E extends Comparable<E>> implements Iterable<E> {
+
+	// Immutable node; height and size describe the subtree rooted here
+	private static final class Node<E> {
+		final E value;
+		final Node<E> left;
+		final Node<E> right;
+		final int height;
+		final int size;
+
+		Node(E value, Node<E> left, Node<E> right) {
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.height = 1 + Math.max(height(left), height(right));
+			this.size = 1 + size(left) + size(right);
+		}
+	}
+
+	private volatile Node<E> root; // the current snapshot; replaced, never mutated
+
+	// Constructor: creates an empty BST.
+	public ConcurrentMyBST() {
+		root = null;
+	}
+
+	public int size() {
+		return size(root);
+	}
+
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	// Height of the tree; -1 if empty
+	public int getHeight() {
+		return height(root);
+	}
+
+	// Returns true if this BST contains value; otherwise returns false.
+	public boolean contains(E value) {
+		var curr = root;
+		while (curr != null) {
+			int cmp = value.compareTo(curr.value);
+			if (cmp == 0)
+				return true;
+			curr = cmp > 0 ? curr.right : curr.left;
+		}
+		return false;
+	}
+
+	// Returns the minimum in the tree
+	public E min() {
+		var curr = root;
+		if (curr == null)
+			throw new NoSuchElementException();
+		while (curr.left != null)
+			curr = curr.left;
+		return curr.value;
+	}
+
+	// Returns the maximum in the tree.
+	public E max() {
+		var curr = root;
+		if (curr == null)
+			throw new NoSuchElementException();
+		while (curr.right != null)
+			curr = curr.right;
+		return curr.value;
+	}
+
+	// Adds value to this BST, unless this tree already holds value.
+	// Returns true if value has been added; otherwise returns false.
+	public synchronized boolean add(E value) {
+		var oldRoot = root;
+		var newRoot = insert(oldRoot, value);
+		if (newRoot == oldRoot)
+			return false;
+		root = newRoot;
+		return true;
+	}
+
+	// Removes value from this BST. Returns true if value has been
+	// found and removed; otherwise returns false.
+	public synchronized boolean remove(E value) {
+		var oldRoot = root;
+		var newRoot = delete(oldRoot, value);
+		if (newRoot == oldRoot)
+			return false;
+		root = newRoot;
+		return true;
+	}
+
+	// Iterates in ascending order over the snapshot taken when iterator() is called;
+	// later adds/removes do not affect it
+	@Override
+	public Iterator<E> iterator() {
+		return new SnapshotIterator(root, null, null);
+	}
+
+	// The values v with from <= v < to, in ascending order, from the snapshot taken
+	// when iteration starts; O(log n + k) for k values, produced lazily
+	public Iterable<E> range(E from, E to) {
+		return () -> new SnapshotIterator(root, from, to);
+	}
+
+	// Returns a bracket-surrounded, comma separated list of the contents of the nodes, in order
+	public String toString() {
+		StringBuilder str = new StringBuilder("[");
+		for (E value : this) {
+			if (str.length() > 1)
+				str.append(", ");
+			str.append(value);
+		}
+		return str.append("]").toString();
+	}
+
+	// In-order walk over one snapshot with an explicit stack of pending ancestors
+	// (the immutable nodes have no parent links)
+	private class SnapshotIterator implements Iterator<E> {
+		private final ArrayDeque<Node<E>> stack = new ArrayDeque<>();
+		private final E to;
+
+		// starts at the smallest value >= from (or the minimum if from is null);
+		// stops before the first value >= to (or at the end if to is null)
+		SnapshotIterator(Node<E> snapshot, E from, E to) {
+			this.to = to;
+			var curr = snapshot;
+			while (curr != null) {
+				if (from != null && curr.value.compareTo(from) < 0) {
+					curr = curr.right;
+				} else {
+					stack.push(curr);
+					curr = curr.left;
+				}
+			}
+		}
+
+		public boolean hasNext() {
+			return !stack.isEmpty() && (to == null || stack.peek().value.compareTo(to) < 0);
+		}
+
+		public E next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			var node = stack.pop();
+			for (var curr = node.right; curr != null; curr = curr.left)
+				stack.push(curr);
+			return node.value;
+		}
+	}
+
+	// Returns the subtree node with value added, copying the path to it;
+	// returns node itself if value is already there
+	private static <E extends Comparable<E>> Node<E> insert(Node<E> node, E value) {
+		if (node == null)
+			return new Node<>(value, null, null);
+		int cmp = value.compareTo(node.value);
+		if (cmp == 0)
+			return node;
+		if (cmp < 0) {
+			var left = insert(node.left, value);
+			return left == node.left ? node : balance(node.value, left, node.right);
+		}
+		var right = insert(node.right, value);
+		return right == node.right ? node : balance(node.value, node.left, right);
+	}
+
+	// Returns the subtree node with value removed, copying the path to it;
+	// returns node itself if value is not there
+	private static <E extends Comparable<E>> Node<E> delete(Node<E> node, E value) {
+		if (node == null)
+			return null;
+		int cmp = value.compareTo(node.value);
+		if (cmp < 0) {
+			var left = delete(node.left, value);
+			return left == node.left ? node : balance(node.value, left, node.right);
+		}
+		if (cmp > 0) {
+			var right = delete(node.right, value);
+			return right == node.right ? node : balance(node.value, node.left, right);
+		}
+		if (node.left == null)
+			return node.right;
+		if (node.right == null)
+			return node.left;
+		// Two children: the smallest value on the right takes this node's place
+		var successor = node.right;
+		while (successor.left != null)
+			successor = successor.left;
+		return balance(successor.value, node.left, deleteMin(node.right));
+	}
+
+	// Returns the subtree node without its smallest value
+	private static <E extends Comparable<E>> Node<E> deleteMin(Node<E> node) {
+		if (node.left == null)
+			return node.right;
+		return balance(node.value, deleteMin(node.left), node.right);
+	}
+
+	// Builds a node for value over left and right, rotating if their heights differ by 2
+	// (each side is already balanced and differs from its old height by at most 1)
+	private static <E extends Comparable<E>> Node<E> balance(E value, Node<E> left,
+			Node<E> right) {
+		int bf = height(right) - height(left);
+		if (bf > 1) {
+			if (height(right.left) > height(right.right)) {
+				// right-left case
+				var rl = right.left;
+				return new Node<>(rl.value, new Node<>(value, left, rl.left),
+						new Node<>(right.value, rl.right, right.right));
+			}
+			return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+		}
+		if (bf < -1) {
+			if (height(left.right) > height(left.left)) {
+				// left-right case
+				var lr = left.right;
+				return new Node<>(lr.value, new Node<>(left.value, left.left, lr.left),
+						new Node<>(value, lr.right, right));
+			}
+			return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+		}
+		return new Node<>(value, left, right);
+	}
+
+	private static int height(Node<?> node) {
+		return node == null ? -1 : node.height;
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+}
@@ -1,92 +1,156 @@
 // Implements a BST with BinaryNode nodes
+// In balanced mode it is an AVL tree: after every add/remove the heights
+// along the changed path are recomputed and any node whose subtrees differ
+// in height by more than one is fixed with rotations, so the height (and
+// therefore contains/add/remove) stays O(log n) even for sorted input.
 
-public class MyBST<E extends Comparable<E>> {
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class MyBST<E extends Comparable<E>> implements Iterable<E> {
 
 	private BinaryNode<E> root; // holds the root of this BST
+	private final boolean balanced; // true if this BST rebalances itself (AVL)
+	private int size; // number of values in this BST
+	private int modCount; // bumped on every add/remove so iterators can fail fast
 
 	// Constructor: creates an empty BST.
 	public MyBST() {
+		this(false);
+	}
+
+	// Constructor: creates an empty BST that keeps itself balanced
+	// (AVL rotations on add/remove) if balanced is true.
+	public MyBST(boolean balanced) {
 		root = null;
+		this.balanced = balanced;
+		size = 0;
+	}
+
+	// Builds a perfectly balanced BST from values, which must be in strictly
+	// ascending order, in O(n) (n calls to add would be O(n log n), or O(n^2)
+	// for a plain BST, which degenerates on sorted input)
+	public static <E extends Comparable<E>> MyBST<E> fromSorted(E[] values) {
+		return fromSorted(List.of(values), false);
+	}
+
+	// Same as fromSorted(E[]) for a list
+	public static <E extends Comparable<E>> MyBST<E> fromSorted(List<E> values) {
+		return fromSorted(values, false);
+	}
+
+	// Same as fromSorted(List), for a tree that keeps itself balanced afterwards if balanced is true
+	public static <E extends Comparable<E>> MyBST<E> fromSorted(List<E> values, boolean balanced) {
+		@SuppressWarnings("unchecked")
+		BinaryNode<E>[] nodes = (BinaryNode<E>[]) new BinaryNode<?>[values.size()];
+		int i = 0;
+		for (E value : values) {
+			if (i > 0 && nodes[i - 1].getValue().compareTo(value) >= 0)
+				throw new IllegalArgumentException("values are not in strictly ascending order");
+			nodes[i++] = new BinaryNode<>(value);
+		}
+		MyBST<E> tree = new MyBST<>(balanced);
+		tree.root = link(nodes, 0, nodes.length - 1);
+		tree.size = nodes.length;
+		return tree;
 	}
 
 	public BinaryNode<E> getRoot() {
 		return root;
 	}
 
+	// Height of the tree; -1 if empty
 	public int getHeight() {
-		return root.getHeight();
+		return BinaryNode.height(root);
 	}
 
-	// Returns true if this BST contains value; otherwise returns false.
-	public boolean contains(E value) {
-		var curr = this.root;
+	public boolean isBalanced() {
+		return balanced;
+	}
 
-		while (curr != null) {
-			if (curr.getValue().equals(value))
-				return true;
+	public int size() {
+		return size;
+	}
 
-			if (value.compareTo(curr.getValue()) > 0) {
-				curr = curr.getRight();
-			} else {
-				curr = curr.getLeft();
-			}
-		}
+	public boolean isEmpty() {
+		return size == 0;
+	}
 
-		return false;
+	// Returns true if this BST contains value; otherwise returns false.
+	public boolean contains(E value) {
+		return findNode(value) != null;
 	}
 
 	// Adds value to this BST, unless this tree already holds value.
 	// Returns true if value has been added; otherwise returns false.
 	public boolean add(E value) {
-		var curr = this.root;
+		if (root == null) {
+			root = new BinaryNode<>(value);
+			size++;
+			modCount++;
+			return true;
+		}
 
-		while (!value.equals(curr.getValue())) {
-			if (value.compareTo(curr.getValue()) > 0) {
+		var curr = this.root;
+		while (true) {
+			int cmp = value.compareTo(curr.getValue());
+			if (cmp == 0)
+				return false;
+			if (cmp > 0) {
 				if (!curr.hasRight()) {
 					curr.setRight(new BinaryNode<>(value));
-					return true;
+					break;
 				}
 				curr = curr.getRight();
 			} else {
 				if (!curr.hasLeft()) {
 					curr.setLeft(new BinaryNode<>(value));
-					return true;
+					break;
 				}
 				curr = curr.getLeft();
 			}
 		}
 
-		return false;
+		size++;
+		modCount++;
+		retrace(curr);
+		return true;
 	}
 
 	// Removes value from this BST. Returns true if value has been
 	// found and removed; otherwise returns false.
 	// If removing a node with two children: replace it with the
-	// largest node in the right subtree
+	// smallest node in the right subtree
 	public boolean remove(E value) {
-		var curr = this.root;
-
-		while (curr != null) {
-			if (curr.getValue().equals(value)) {
-				var right_node_val = curr.getRight().getValue();
-				curr.setValue(right_node_val);
-				curr.setLeft(null);
-				curr.setRight(null);
-				return true;
-			}
+		var node = findNode(value);
+		if (node == null)
+			return false;
 
-			if (value.compareTo(curr.getValue()) > 0) {
-				curr = curr.getRight();
-			} else {
-				curr = curr.getLeft();
-			}
+		if (node.hasLeft() && node.hasRight()) {
+			var successor = node.getRight();
+			while (successor.hasLeft())
+				successor = successor.getLeft();
+			node.setValue(successor.getValue());
+			node = successor;
 		}
 
-		return false;
+		// node now has at most one child, which takes its place
+		var child = node.hasLeft() ? node.getLeft() : node.getRight();
+		var parent = node.getParent();
+		replaceChild(parent, node, child);
+
+		size--;
+		modCount++;
+		retrace(parent);
+		return true;
 	}
 
 	// Returns the minimum in the tree
 	public E min() {
+		if (root == null)
+			throw new NoSuchElementException();
 		var curr = this.root;
 		while (curr.getLeft() != null) {
 			curr = curr.getLeft();
@@ -96,6 +160,8 @@ public class MyBST<E extends Comparable<E>> {
 
 	// Returns the maximum in the tree.
 	public E max() {
+		if (root == null)
+			throw new NoSuchElementException();
 		var curr = this.root;
 		while (curr.getRight() != null) {
 			curr = curr.getRight();
@@ -103,15 +169,296 @@ public class MyBST<E extends Comparable<E>> {
 		return curr.getValue();
 	}
 
+	// Returns the largest value <= value, or null if there is none
+	public E floor(E value) {
+		return valueOf(floorNode(value, true));
+	}
+
+	// Returns the largest value < value, or null if there is none
+	public E lower(E value) {
+		return valueOf(floorNode(value, false));
+	}
+
+	// Returns the smallest value >= value, or null if there is none
+	public E ceiling(E value) {
+		return valueOf(ceilingNode(value, true));
+	}
+
+	// Returns the smallest value > value, or null if there is none
+	public E higher(E value) {
+		return valueOf(ceilingNode(value, false));
+	}
+
+	// Returns the k-th smallest value (k = 0 is the minimum) in O(height)
+	public E select(int k) {
+		if (k < 0 || k >= size)
+			throw new IndexOutOfBoundsException();
+		var curr = this.root;
+		while (true) {
+			int leftSize = BinaryNode.size(curr.getLeft());
+			if (k < leftSize) {
+				curr = curr.getLeft();
+			} else if (k == leftSize) {
+				return curr.getValue();
+			} else {
+				k -= leftSize + 1;
+				curr = curr.getRight();
+			}
+		}
+	}
+
+	// Returns how many values in this BST are < value, in O(height)
+	// (so if the tree contains value, it is select(rank(value)))
+	public int rank(E value) {
+		int rank = 0;
+		var curr = this.root;
+		while (curr != null) {
+			int cmp = value.compareTo(curr.getValue());
+			if (cmp > 0) {
+				rank += BinaryNode.size(curr.getLeft()) + 1;
+				curr = curr.getRight();
+			} else {
+				if (cmp == 0)
+					return rank + BinaryNode.size(curr.getLeft());
+				curr = curr.getLeft();
+			}
+		}
+		return rank;
+	}
+
+	// Iterates over the values in ascending order, without recursion or an explicit
+	// stack: each step follows the parent/child links to the in-order successor.
+	// A full pass is O(n); the iterator throws ConcurrentModificationException if the
+	// tree is changed while it is in use.
+	@Override
+	public Iterator<E> iterator() {
+		return new InOrderIterator(leftmost(root), null);
+	}
+
+	// The values v with from <= v < to, in ascending order, produced lazily as the
+	// iteration advances: finding the first one is O(log n) and each next one is
+	// O(1) amortized, so a scan of k values costs O(log n + k)
+	public Iterable<E> range(E from, E to) {
+		return () -> new InOrderIterator(ceilingNode(from, true), to);
+	}
+
 	// Returns a bracket-surrounded, comma separated list of the contents of the nodes, in order
 	// e.g. [Apple, Cranberry, Durian, Mango]
 	public String toString() {
-		return "";
+		StringBuilder str = new StringBuilder("[");
+		for (E value : this) {
+			if (str.length() > 1)
+				str.append(", ");
+			str.append(value);
+		}
+		return str.append("]").toString();
+	}
+
+	// Walks the in-order successors starting at a node, stopping before the first value >= end
+	// (or at the end of the tree if end is null)
+	private class InOrderIterator implements Iterator<E> {
+		private BinaryNode<E> next;
+		private final E end;
+		private final int expectedModCount = modCount;
+
+		InOrderIterator(BinaryNode<E> first, E end) {
+			this.end = end;
+			this.next = first;
+			skipPastEnd();
+		}
+
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		public E next() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (next == null)
+				throw new NoSuchElementException();
+			E value = next.getValue();
+			next = successor(next);
+			skipPastEnd();
+			return value;
+		}
+
+		private void skipPastEnd() {
+			if (next != null && end != null && next.getValue().compareTo(end) >= 0)
+				next = null;
+		}
+	}
+
+	// Returns the node with the largest value <= value (or < value if inclusive is false)
+	private BinaryNode<E> floorNode(E value, boolean inclusive) {
+		BinaryNode<E> best = null;
+		var curr = this.root;
+		while (curr != null) {
+			int cmp = value.compareTo(curr.getValue());
+			if (cmp > 0 || (cmp == 0 && inclusive)) {
+				best = curr;
+				if (cmp == 0)
+					break;
+				curr = curr.getRight();
+			} else {
+				curr = curr.getLeft();
+			}
+		}
+		return best;
+	}
+
+	// Returns the node with the smallest value >= value (or > value if inclusive is false)
+	private BinaryNode<E> ceilingNode(E value, boolean inclusive) {
+		BinaryNode<E> best = null;
+		var curr = this.root;
+		while (curr != null) {
+			int cmp = value.compareTo(curr.getValue());
+			if (cmp < 0 || (cmp == 0 && inclusive)) {
+				best = curr;
+				if (cmp == 0)
+					break;
+				curr = curr.getLeft();
+			} else {
+				curr = curr.getRight();
+			}
+		}
+		return best;
+	}
+
+	// Returns the node after node in sorted order, or null if node holds the maximum
+	private static <E extends Comparable<E>> BinaryNode<E> successor(BinaryNode<E> node) {
+		if (node.hasRight())
+			return leftmost(node.getRight());
+		var child = node;
+		var parent = node.getParent();
+		while (parent != null && parent.getRight() == child) {
+			child = parent;
+			parent = parent.getParent();
+		}
+		return parent;
+	}
+
+	// Returns the node with the smallest value in the subtree at node, or null if it is empty
+	private static <E extends Comparable<E>> BinaryNode<E> leftmost(BinaryNode<E> node) {
+		if (node == null)
+			return null;
+		while (node.hasLeft())
+			node = node.getLeft();
+		return node;
+	}
+
+	private static <E extends Comparable<E>> E valueOf(BinaryNode<E> node) {
+		return node == null ? null : node.getValue();
+	}
+
+	// Rebuilds this tree into a perfectly balanced shape in O(n), reusing its nodes
+	// (handy after many adds to a plain BST)
+	public void rebalance() {
+		@SuppressWarnings("unchecked")
+		BinaryNode<E>[] nodes = (BinaryNode<E>[]) new BinaryNode<?>[size];
+		int i = 0;
+		for (var node = leftmost(root); node != null; node = successor(node))
+			nodes[i++] = node;
+		root = link(nodes, 0, size - 1);
+		modCount++;
+	}
+
+	// Links nodes[lo..hi] (in sorted order) into a balanced subtree by making the middle
+	// node the root of the two halves, and returns that root with height, size and
+	// parent links set (its parent is null until the caller attaches it)
+	private static <E extends Comparable<E>> BinaryNode<E> link(BinaryNode<E>[] nodes, int lo,
+			int hi) {
+		if (lo > hi)
+			return null;
+		int mid = (lo + hi) >>> 1;
+		var node = nodes[mid];
+		node.setLeft(link(nodes, lo, mid - 1));
+		node.setRight(link(nodes, mid + 1, hi));
+		node.setParent(null);
+		node.updateHeight();
+		node.updateSize();
+		return node;
+	}
+
+	// Returns the node holding value, or null if there is none
+	private BinaryNode<E> findNode(E value) {
+		var curr = this.root;
+
+		while (curr != null) {
+			int cmp = value.compareTo(curr.getValue());
+			if (cmp == 0)
+				return curr;
+			curr = cmp > 0 ? curr.getRight() : curr.getLeft();
+		}
+
+		return null;
+	}
+
+	// Walks from node up to the root recomputing heights and subtree sizes;
+	// in balanced mode also rotates any node that has become unbalanced
+	private void retrace(BinaryNode<E> node) {
+		while (node != null) {
+			node.updateHeight();
+			node.updateSize();
+			if (balanced)
+				node = fixup(node);
+			node = node.getParent();
+		}
+	}
+
+	// Restores the AVL property at node, whose children are already balanced.
+	// Returns the node now at node's old position.
+	private BinaryNode<E> fixup(BinaryNode<E> node) {
+		int bf = node.balanceFactor();
+		if (bf > 1) {
+			if (node.getRight().balanceFactor() < 0)
+				rotateRight(node.getRight()); // right-left case
+			return rotateLeft(node);
+		}
+		if (bf < -1) {
+			if (node.getLeft().balanceFactor() > 0)
+				rotateLeft(node.getLeft()); // left-right case
+			return rotateRight(node);
+		}
+		return node;
+	}
+
+	// Rotates node's right child up into node's position; returns that child
+	private BinaryNode<E> rotateLeft(BinaryNode<E> node) {
+		var pivot = node.getRight();
+		replaceChild(node.getParent(), node, pivot);
+		node.setRight(pivot.getLeft());
+		pivot.setLeft(node);
+		node.updateHeight();
+		node.updateSize();
+		pivot.updateHeight();
+		pivot.updateSize();
+		return pivot;
+	}
+
+	// Rotates node's left child up into node's position; returns that child
+	private BinaryNode<E> rotateRight(BinaryNode<E> node) {
+		var pivot = node.getLeft();
+		replaceChild(node.getParent(), node, pivot);
+		node.setLeft(pivot.getRight());
+		pivot.setRight(node);
+		node.updateHeight();
+		node.updateSize();
+		pivot.updateHeight();
+		pivot.updateSize();
+		return pivot;
 	}
 
-	private String to_string_helper() {
-		
-		return "";
+	// Makes replacement take oldChild's place under parent (or as the root if parent is null)
+	private void replaceChild(BinaryNode<E> parent, BinaryNode<E> oldChild,
+			BinaryNode<E> replacement) {
+		if (parent == null)
+			root = replacement;
+		else if (parent.getLeft() == oldChild)
+			parent.setLeft(replacement);
+		else
+			parent.setRight(replacement);
+		if (replacement != null && parent == null)
+			replacement.setParent(null);
 	}
 
 }
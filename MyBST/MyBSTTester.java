@@ -0,0 +1,280 @@
+// Checks MyBST's AVL mode against java.util.TreeSet: after random adds and
+// removes the tree must hold the same values, every node must be balanced
+// with correct cached heights, sizes and parent links, and floor, lower,
+// ceiling, higher, range, select and rank must give TreeSet's answers.
+// fromSorted and rebalance() must build trees of minimal height. Also runs
+// ConcurrentMyBST against TreeSet and iterates over it while another thread
+// writes. Prints [PASS] or [FAIL] for each check, like the other testers.
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class MyBSTTester {
+
+	public static void main(String[] args) throws InterruptedException {
+		var random = new Random(42);
+		var tree = new MyBST<Integer>(true);
+		var expected = new TreeSet<Integer>();
+
+		// 1. Sorted input, which makes an unbalanced BST a linked list
+		for (int i = 0; i < 10000; i++)
+			tree.add(i);
+		for (int i = 0; i < 10000; i++)
+			expected.add(i);
+		checkInvariants(tree, expected, "after 10000 ascending adds");
+		check(tree.getHeight() <= maxAvlHeight(tree.size()),
+				"height " + tree.getHeight() + " is within the AVL bound");
+
+		// 2. Random adds and removes, including values that are absent or already present
+		for (int round = 0; round < 20; round++) {
+			for (int i = 0; i < 2000; i++) {
+				int value = random.nextInt(30000);
+				if (random.nextBoolean()) {
+					if (tree.add(value) != expected.add(value)) {
+						check(false, "add(" + value + ") reports whether the value was new");
+						return;
+					}
+				} else if (tree.remove(value) != expected.remove(value)) {
+					check(false, "remove(" + value + ") reports whether the value was present");
+					return;
+				}
+			}
+		}
+		checkInvariants(tree, expected, "after random adds and removes");
+
+		// 3. Navigation, probing values in the tree, between values and past both ends
+		boolean navigationMatches = true;
+		for (int probe = -5; probe < 30005 && navigationMatches; probe++) {
+			navigationMatches = same(tree.floor(probe), expected.floor(probe))
+					&& same(tree.lower(probe), expected.lower(probe))
+					&& same(tree.ceiling(probe), expected.ceiling(probe))
+					&& same(tree.higher(probe), expected.higher(probe));
+			if (!navigationMatches)
+				System.out.println("First difference at " + probe);
+		}
+		check(navigationMatches, "floor, lower, ceiling and higher match TreeSet");
+
+		var empty = new MyBST<Integer>(true);
+		check(empty.floor(1) == null && empty.ceiling(1) == null,
+				"floor and ceiling of an empty tree are null");
+
+		// 4. Ranges, including empty ones, ones past either end and the whole tree
+		boolean rangesMatch = true;
+		for (int i = 0; i < 2000 && rangesMatch; i++) {
+			int from = random.nextInt(30010) - 5;
+			int to = from + random.nextInt(i < 1000 ? 50 : 5000);
+			rangesMatch = toList(tree.range(from, to))
+					.equals(new ArrayList<>(expected.subSet(from, to)));
+			if (!rangesMatch)
+				System.out.println("First difference at [" + from + ", " + to + ")");
+		}
+		check(rangesMatch, "range(from, to) matches TreeSet.subSet");
+		check(toList(tree.range(-5, 30005)).equals(new ArrayList<>(expected)),
+				"a range around every value holds the whole tree");
+		check(toList(empty.range(0, 10)).isEmpty(), "a range of an empty tree is empty");
+
+		// 5. Order statistics: select(k) is the k-th value, rank(v) counts the values below v
+		var values = new ArrayList<>(expected);
+		boolean selectMatches = true;
+		for (int k = 0; k < values.size() && selectMatches; k++)
+			selectMatches = values.get(k).equals(tree.select(k));
+		check(selectMatches, "select(k) is the k-th value in ascending order");
+		boolean rankMatches = true;
+		for (int probe = -5; probe < 30005 && rankMatches; probe++) {
+			rankMatches = tree.rank(probe) == expected.headSet(probe).size();
+			if (!rankMatches)
+				System.out.println("First difference at " + probe);
+		}
+		check(rankMatches, "rank(v) matches the size of TreeSet.headSet(v)");
+		check(throwsOutOfBounds(tree, -1) && throwsOutOfBounds(tree, tree.size())
+				&& throwsOutOfBounds(empty, 0), "select outside [0, size) throws");
+
+		// 6. Removing everything keeps the tree balanced all the way down
+		boolean balancedThroughout = true;
+		for (int i = 0; i < values.size(); i++) {
+			tree.remove(values.get((i * 7919) % values.size()));
+			if (i % 500 == 0)
+				balancedThroughout &= isAvl(tree.getRoot(), null);
+		}
+		check(tree.isEmpty() && balancedThroughout, "tree stays balanced while emptied");
+
+		// 7. Building from sorted values gives a tree of minimal height
+		var fromArray = MyBST.fromSorted(values.toArray(new Integer[0]));
+		checkInvariants(fromArray, expected, "from fromSorted(E[])");
+		check(fromArray.getHeight() == minHeight(values.size()),
+				"fromSorted(E[]) builds a tree of minimal height");
+		var fromList = MyBST.fromSorted(values);
+		checkInvariants(fromList, expected, "from fromSorted(List)");
+		check(fromList.getHeight() == minHeight(values.size()) && !fromList.isBalanced(),
+				"fromSorted(List) builds a plain tree of minimal height");
+		var selfBalancing = MyBST.fromSorted(values, true);
+		var selfBalancingExpected = new TreeSet<>(expected);
+		for (int i = 0; i < 20000; i++) {
+			int value = random.nextInt(30000);
+			if (random.nextBoolean()) {
+				selfBalancing.add(value);
+				selfBalancingExpected.add(value);
+			} else {
+				selfBalancing.remove(value);
+				selfBalancingExpected.remove(value);
+			}
+		}
+		checkInvariants(selfBalancing, selfBalancingExpected,
+				"after random adds and removes on fromSorted(List, true)");
+		check(MyBST.fromSorted(new Integer[0]).isEmpty(), "fromSorted of no values is empty");
+		check(rejectsUnsorted(List.of(1, 3, 2)) && rejectsUnsorted(List.of(1, 1)),
+				"fromSorted rejects values out of order or repeated");
+
+		// 8. rebalance() rebuilds a degenerate plain tree into one of minimal height
+		var plain = new MyBST<Integer>();
+		for (int value : values)
+			plain.add(value);
+		check(plain.getHeight() == values.size() - 1, "sorted adds make a plain tree a list");
+		plain.rebalance();
+		checkInvariants(plain, expected, "after rebalance()");
+		check(plain.getHeight() == minHeight(values.size()),
+				"rebalance() leaves a tree of minimal height");
+		for (int i = 0; i < 1000; i++)
+			plain.add(-i);
+		for (int i = 0; i > -1000; i--)
+			expected.add(i);
+		check(toList(plain).equals(new ArrayList<>(expected)) && plain.size() == expected.size(),
+				"adds after rebalance() keep the values in order");
+
+		// 9. ConcurrentMyBST, first from one thread, then with readers racing a writer
+		var concurrent = new ConcurrentMyBST<Integer>();
+		var concurrentExpected = new TreeSet<Integer>();
+		boolean updatesMatch = true;
+		for (int i = 0; i < 40000 && updatesMatch; i++) {
+			int value = random.nextInt(30000);
+			updatesMatch = random.nextBoolean()
+					? concurrent.add(value) == concurrentExpected.add(value)
+					: concurrent.remove(value) == concurrentExpected.remove(value);
+		}
+		check(updatesMatch && toList(concurrent).equals(new ArrayList<>(concurrentExpected))
+				&& concurrent.size() == concurrentExpected.size(),
+				"ConcurrentMyBST holds the same values as TreeSet after random adds and removes");
+		check(concurrent.min().equals(concurrentExpected.first())
+				&& concurrent.max().equals(concurrentExpected.last())
+				&& concurrent.getHeight() <= maxAvlHeight(concurrent.size()),
+				"ConcurrentMyBST has TreeSet's min and max and an AVL height");
+		boolean concurrentRangesMatch = true;
+		for (int i = 0; i < 1000 && concurrentRangesMatch; i++) {
+			int from = random.nextInt(30010) - 5;
+			int to = from + random.nextInt(500);
+			concurrentRangesMatch = toList(concurrent.range(from, to))
+					.equals(new ArrayList<>(concurrentExpected.subSet(from, to)));
+		}
+		check(concurrentRangesMatch, "ConcurrentMyBST range(from, to) matches TreeSet.subSet");
+
+		var shared = new ConcurrentMyBST<Integer>();
+		var evens = new ArrayList<Integer>();
+		for (int i = 0; i < 200000; i += 2) {
+			shared.add(i);
+			evens.add(i);
+		}
+		var snapshot = shared.iterator();
+		var writer = new Thread(() -> {
+			for (int i = 1; i < 200000; i += 2)
+				shared.add(i);
+			for (int i = 0; i < 200000; i += 4)
+				shared.remove(i);
+		});
+		// The old iterator is read half before, half after the iterations while the writer runs
+		var fromSnapshot = new ArrayList<Integer>();
+		writer.start();
+		while (fromSnapshot.size() < evens.size() / 2)
+			fromSnapshot.add(snapshot.next());
+		// Every snapshot taken while the writer runs must be a sorted, complete version
+		boolean snapshotsConsistent = true;
+		while (writer.isAlive() && snapshotsConsistent) {
+			var seen = toList(shared);
+			for (int i = 1; i < seen.size() && snapshotsConsistent; i++)
+				snapshotsConsistent = seen.get(i - 1) < seen.get(i);
+		}
+		while (snapshot.hasNext())
+			fromSnapshot.add(snapshot.next());
+		writer.join();
+		check(fromSnapshot.equals(evens),
+				"an iterator sees only its snapshot while another thread writes");
+		check(snapshotsConsistent, "iterations during the writes see sorted values");
+		boolean writesLanded = shared.size() == 150000;
+		for (int i = 0; i < 200000 && writesLanded; i++)
+			writesLanded = shared.contains(i) == (i % 4 != 0);
+		check(writesLanded, "every write lands once the writer is done");
+	}
+
+	// Compares tree to expected and checks every node, printing one line per property
+	private static void checkInvariants(MyBST<Integer> tree, TreeSet<Integer> expected,
+			String when) {
+		var inOrder = new ArrayList<Integer>();
+		for (int value : tree)
+			inOrder.add(value);
+		check(inOrder.equals(new ArrayList<>(expected)) && tree.size() == expected.size(),
+				"same values in ascending order as TreeSet " + when);
+		check(isAvl(tree.getRoot(), null),
+				"every node balanced with correct height, size and parent " + when);
+	}
+
+	// Returns whether every node below node has children in order, a balance factor
+	// of -1, 0 or 1, the right cached height and size, and the given parent
+	private static boolean isAvl(BinaryNode<Integer> node, BinaryNode<Integer> parent) {
+		if (node == null)
+			return true;
+		var left = node.getLeft();
+		var right = node.getRight();
+		return node.getParent() == parent
+				&& (left == null || left.getValue() < node.getValue())
+				&& (right == null || right.getValue() > node.getValue())
+				&& Math.abs(node.balanceFactor()) <= 1
+				&& node.getHeight() == 1 + Math.max(BinaryNode.height(left),
+						BinaryNode.height(right))
+				&& node.getSize() == 1 + BinaryNode.size(left) + BinaryNode.size(right)
+				&& isAvl(left, node) && isAvl(right, node);
+	}
+
+	// The height of a perfectly balanced tree of n > 0 nodes: floor(log2 n)
+	private static int minHeight(int n) {
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+
+	private static boolean rejectsUnsorted(List<Integer> values) {
+		try {
+			MyBST.fromSorted(values);
+			return false;
+		} catch (IllegalArgumentException e) {
+			return true;
+		}
+	}
+
+	// The tallest an AVL tree of n nodes can be: about 1.44 log2(n + 2)
+	private static int maxAvlHeight(int n) {
+		return (int) (1.4405 * Math.log(n + 2) / Math.log(2));
+	}
+
+	private static boolean throwsOutOfBounds(MyBST<Integer> tree, int k) {
+		try {
+			tree.select(k);
+			return false;
+		} catch (IndexOutOfBoundsException e) {
+			return true;
+		}
+	}
+
+	private static List<Integer> toList(Iterable<Integer> values) {
+		var list = new ArrayList<Integer>();
+		for (int value : values)
+			list.add(value);
+		return list;
+	}
+
+	private static boolean same(Integer actual, Integer expected) {
+		return actual == null ? expected == null : actual.equals(expected);
+	}
+
+	private static void check(boolean passed, String description) {
+		System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+	}
+}
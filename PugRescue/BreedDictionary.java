@@ -0,0 +1,58 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Scanner;
+
+// Maps each breed name to a small int code (0, 1, 2, ... in order of first use)
+// so code that handles millions of dogs can compare breeds as ints
+// instead of calling String.equals on every one.
+public class BreedDictionary {
+
+	private final ArrayList<String> names; // names.get(code) is the breed with that code
+	private final HashMap<String, Integer> codes;
+
+	public BreedDictionary() {
+		this.names = new ArrayList<String>();
+		this.codes = new HashMap<String, Integer>();
+	}
+
+	// Creates a dictionary holding every line of the given file (e.g. breeds.txt),
+	// coded in file order
+	public static BreedDictionary load(String fileName) throws FileNotFoundException {
+		BreedDictionary dictionary = new BreedDictionary();
+		Scanner breedReader = new Scanner(new File(fileName));
+		while (breedReader.hasNext()) {
+			dictionary.codeOf(breedReader.nextLine());
+		}
+		breedReader.close();
+		return dictionary;
+	}
+
+	// Returns the code for breed, giving it the next free code if it is new
+	public int codeOf(String breed) {
+		Integer code = codes.get(breed);
+		if (code == null) {
+			code = names.size();
+			names.add(breed);
+			codes.put(breed, code);
+		}
+		return code;
+	}
+
+	// Returns the code for breed, or -1 if it has never been coded
+	public int lookup(String breed) {
+		Integer code = codes.get(breed);
+		return code == null ? -1 : code;
+	}
+
+	// Returns the breed name for code
+	public String nameOf(int code) {
+		return names.get(code);
+	}
+
+	// Number of distinct breeds coded so far
+	public int size() {
+		return names.size();
+	}
+}
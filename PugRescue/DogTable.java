@@ -0,0 +1,134 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Stores dogs column by column: one int[] of breed codes (from a BreedDictionary)
+// and one String[] of names, instead of one Dog object per dog.
+// Breed filters and partitions become int compares over a contiguous array,
+// and no Dog objects are created unless a row is asked for with get().
+public class DogTable {
+
+	private final BreedDictionary dictionary;
+	private int[] breedCodes;
+	private String[] names;
+	private int size;
+
+	public DogTable(BreedDictionary dictionary) {
+		this(dictionary, 16);
+	}
+
+	public DogTable(BreedDictionary dictionary, int initialCapacity) {
+		this.dictionary = dictionary;
+		this.breedCodes = new int[Math.max(initialCapacity, 1)];
+		this.names = new String[Math.max(initialCapacity, 1)];
+		this.size = 0;
+	}
+
+	// Builds a table holding the dogs of list, in order
+	public static DogTable from(List<Dog> list, BreedDictionary dictionary) {
+		DogTable table = new DogTable(dictionary, list.size());
+		for (Dog dog : list)
+			table.add(dog);
+		return table;
+	}
+
+	public BreedDictionary getDictionary() {
+		return dictionary;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// Appends a row for a dog with the given name and breed
+	public void add(String name, String breed) {
+		if (size == names.length) {
+			breedCodes = Arrays.copyOf(breedCodes, size * 2);
+			names = Arrays.copyOf(names, size * 2);
+		}
+		breedCodes[size] = dictionary.codeOf(breed);
+		names[size] = name;
+		size++;
+	}
+
+	public void add(Dog dog) {
+		add(dog.getName(), dog.getBreed());
+	}
+
+	public String getName(int index) {
+		checkIndex(index);
+		return names[index];
+	}
+
+	public int getBreedCode(int index) {
+		checkIndex(index);
+		return breedCodes[index];
+	}
+
+	public String getBreed(int index) {
+		return dictionary.nameOf(getBreedCode(index));
+	}
+
+	// Creates a Dog for the row at index
+	public Dog get(int index) {
+		return new Dog(getName(index), getBreed(index));
+	}
+
+	// Number of rows whose breed has the given code
+	public int countBreed(int breedCode) {
+		int count = 0;
+		for (int i = 0; i < size; i++)
+			if (breedCodes[i] == breedCode)
+				count++;
+		return count;
+	}
+
+	// Returns a new table (sharing this dictionary) with only the rows of the given breed,
+	// in their original order
+	public DogTable filterByBreed(int breedCode) {
+		DogTable result = new DogTable(dictionary, countBreed(breedCode));
+		for (int i = 0; i < size; i++) {
+			if (breedCodes[i] == breedCode) {
+				result.breedCodes[result.size] = breedCode;
+				result.names[result.size] = names[i];
+				result.size++;
+			}
+		}
+		return result;
+	}
+
+	// Moves every row of the given breed to the back, keeping the relative order of
+	// both the moved rows and the rest. Returns the index of the first moved row.
+	// Since moved rows all share one code, only their names need buffering.
+	public int partitionByBreed(int breedCode) {
+		String[] movedNames = new String[countBreed(breedCode)];
+		int moved = 0;
+		int write = 0;
+		for (int i = 0; i < size; i++) {
+			if (breedCodes[i] == breedCode) {
+				movedNames[moved++] = names[i];
+			} else {
+				breedCodes[write] = breedCodes[i];
+				names[write] = names[i];
+				write++;
+			}
+		}
+		int split = write;
+		Arrays.fill(breedCodes, split, size, breedCode);
+		System.arraycopy(movedNames, 0, names, split, moved);
+		return split;
+	}
+
+	// Creates one Dog per row, in order
+	public ArrayList<Dog> toList() {
+		ArrayList<Dog> list = new ArrayList<Dog>(size);
+		for (int i = 0; i < size; i++)
+			list.add(new Dog(names[i], dictionary.nameOf(breedCodes[i])));
+		return list;
+	}
+
+	private void checkIndex(int index) {
+		if (index >= size || index < 0)
+			throw new IndexOutOfBoundsException();
+	}
+}
@@ -1,32 +1,142 @@
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 public class PugSaver {
+
 	// Moves every dog whose breed is "Pug" in the list to the back of the list
+	// All non-pugs must remain in the same relative order they were in originally
+	// and all pugs must also remain in the same relative order they were in originally
+	// Lists of PARALLEL_THRESHOLD dogs or more are partitioned in parallel; shorter ones
+	// buffer only the pugs and shift everything else forward in place.
 	public static void rescuePugs(ArrayList<Dog> list) {
-		ArrayList<Dog> list1 = new ArrayList<Dog>();
-		ArrayList<Dog> listnew = new ArrayList<Dog>();
-
-		for (Dog dog : list) {
-			if (dog.getBreed().equals("Pug")) {
-				list1.add(dog);
-			} else {
-				listnew.add(dog);
-			}
-		}
+		parallelStablePartition(list, dog -> dog.getBreed().equals("Pug"));
+	}
+
+	// Same as rescuePugs, but reuses the caller's buffer for the pugs so repeated
+	// runs do not allocate; buffer is cleared first and holds the pugs afterwards
+	public static void rescuePugs(ArrayList<Dog> list, ArrayList<Dog> buffer) {
+		stablePartition(list, dog -> dog.getBreed().equals("Pug"), buffer);
+	}
+
+	// Columnar version of rescuePugs: moves the pug rows of table to the back,
+	// comparing breed codes instead of breed strings
+	public static void rescuePugs(DogTable table) {
+		int pug = table.getDictionary().lookup("Pug");
+		if (pug != -1)
+			table.partitionByBreed(pug);
+	}
+
+	// Lists shorter than this are partitioned sequentially
+	private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	// Same result as stablePartition(list, toBack), spread over the common fork-join pool:
+	// 1) the list is split into chunks and each chunk counts its matching elements in parallel,
+	// 2) a prefix sum over the chunk counts gives every chunk its first output slot
+	// among the non-matching elements and among the matching ones,
+	// 3) each chunk scatters its elements into those slots in parallel.
+	// Reads from one snapshot array of the list and writes straight back into the list.
+	// toBack is called twice per element, so it must be side-effect free.
+	// list must support set() from several threads on distinct indices (e.g. ArrayList).
+	public static <T> int parallelStablePartition(List<T> list, Predicate<? super T> toBack) {
+		int n = list.size();
+		if (n < PARALLEL_THRESHOLD)
+			return stablePartition(list, toBack);
+
+		@SuppressWarnings("unchecked")
+		T[] items = (T[]) list.toArray();
+		int chunks = Math.min(n / (PARALLEL_THRESHOLD / 4),
+				Runtime.getRuntime().availableProcessors() * 8);
+		chunks = Math.max(chunks, 1);
+		int chunkSize = (n + chunks - 1) / chunks;
+		int chunkCount = (n + chunkSize - 1) / chunkSize;
 
-		for (Dog dog : list1) {
-			listnew.addLast(dog);
+		// Pass 1: matching elements per chunk
+		int[] matches = new int[chunkCount];
+		IntStream.range(0, chunkCount).parallel().forEach(k -> {
+			int count = 0;
+			for (int i = k * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++)
+				if (toBack.test(items[i]))
+					count++;
+			matches[k] = count;
+		});
+
+		// Prefix sums: where each chunk's kept and moved elements start in the output
+		int[] keptStart = new int[chunkCount];
+		int[] movedStart = new int[chunkCount];
+		int kept = 0, moved = 0;
+		for (int k = 0; k < chunkCount; k++) {
+			keptStart[k] = kept;
+			movedStart[k] = moved;
+			moved += matches[k];
+			kept += Math.min(n, (k + 1) * chunkSize) - k * chunkSize - matches[k];
 		}
+		int split = kept;
+
+		// Pass 2: scatter every element into its final slot
+		IntStream.range(0, chunkCount).parallel().forEach(k -> {
+			int keep = keptStart[k], move = split + movedStart[k];
+			for (int i = k * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+				if (toBack.test(items[i]))
+					list.set(move++, items[i]);
+				else
+					list.set(keep++, items[i]);
+			}
+		});
+		return split;
+	}
+
+	// Moves every element matching toBack to the back of the list, keeping the
+	// relative order of both the matching and the non-matching elements.
+	// Returns the index of the first moved element (list.size() if none matched).
+	// O(n) time, with extra space for the matching elements only.
+	public static <T> int stablePartition(List<T> list, Predicate<? super T> toBack) {
+		return stablePartition(list, toBack, new ArrayList<T>());
+	}
 
-		list = listnew;
+	// Same as stablePartition(list, toBack), collecting the matching elements in
+	// buffer (cleared first) instead of a new list
+	public static <T> int stablePartition(List<T> list, Predicate<? super T> toBack,
+			List<T> buffer) {
+		buffer.clear();
+		int write = 0;
+		int n = list.size();
+		for (int i = 0; i < n; i++) {
+			T item = list.get(i);
+			if (toBack.test(item))
+				buffer.add(item);
+			else
+				list.set(write++, item);
+		}
+		int split = write;
+		for (int i = 0; i < buffer.size(); i++)
+			list.set(write++, buffer.get(i));
+		return split;
+	}
 
-		// for (int i = 0; i < list.size(); i++) {
-		// 	list.set(i, listnew.get(i));
-		// }
+	// Same result as stablePartition(list, toBack) with no extra list at all:
+	// partitions each half recursively, then swaps the matching block of the left
+	// half with the non-matching block of the right half by rotation.
+	// O(n log n) time, O(log n) stack.
+	public static <T> int stablePartitionInPlace(List<T> list, Predicate<? super T> toBack) {
+		return stablePartitionInPlaceHelper(list, toBack, 0, list.size());
+	}
 
-		// for (int i = list.size() - 1; i > 0; i--)
-		// if (list.get(i).getBreed().equals("Pug"))
-		// list.addLast(list.remove(i));
+	// stably partitions list[from, to) so the elements matching toBack come last;
+	// returns the index of the first matching element in that range
+	private static <T> int stablePartitionInPlaceHelper(List<T> list,
+			Predicate<? super T> toBack, int from, int to) {
+		if (to - from == 0)
+			return from;
+		if (to - from == 1)
+			return toBack.test(list.get(from)) ? from : to;
+		int mid = (from + to) >>> 1;
+		int leftSplit = stablePartitionInPlaceHelper(list, toBack, from, mid);
+		int rightSplit = stablePartitionInPlaceHelper(list, toBack, mid, to);
+		// [leftSplit, mid) matches, [mid, rightSplit) does not: swap the two blocks
+		Collections.rotate(list.subList(leftSplit, rightSplit), rightSplit - mid);
+		return leftSplit + (rightSplit - mid);
 	}
 }
-
@@ -1,4 +1,7 @@
+
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 public class PugSaverTester {
 
@@ -21,6 +24,112 @@ public class PugSaverTester {
         PugSaver.rescuePugs(list);
 
         System.out.println(list);
+
+        // Every dog has its own name, so comparing names checks the order of the dogs themselves
+        String[] breeds = {"Pug", "Poodle", "Beagle", "Retriever"};
+        var random = new Random(42);
+        // 300000 dogs take the parallel path of parallelStablePartition and rescuePugs
+        for (int n : new int[] {0, 1, 2, 17, 1000, 300000}) {
+            var dogs = randomDogs(n, breeds, random);
+            var expected = new ArrayList<Dog>();
+            for (Dog d : dogs)
+                if (!isPug(d))
+                    expected.add(d);
+            int split = expected.size();
+            for (Dog d : dogs)
+                if (isPug(d))
+                    expected.add(d);
+
+            // The sequential partition must keep both groups in order; every variant must match it
+            var sequential = new ArrayList<>(dogs);
+            check(PugSaver.stablePartition(sequential, PugSaverTester::isPug) == split
+                    && names(sequential).equals(names(expected)),
+                    "stablePartition keeps the order of pugs and non-pugs, " + n + " dogs");
+            var buffer = new ArrayList<Dog>(List.of(dog));
+            checkVariant("stablePartition with a buffer", dogs, sequential, split,
+                    l -> PugSaver.stablePartition(l, PugSaverTester::isPug, buffer));
+            checkVariant("stablePartitionInPlace", dogs, sequential, split,
+                    l -> PugSaver.stablePartitionInPlace(l, PugSaverTester::isPug));
+            checkVariant("parallelStablePartition", dogs, sequential, split,
+                    l -> PugSaver.parallelStablePartition(l, PugSaverTester::isPug));
+            checkVariant("rescuePugs", dogs, sequential, -1, l -> {
+                PugSaver.rescuePugs(l);
+                return -1;
+            });
+            checkVariant("rescuePugs with a buffer", dogs, sequential, -1, l -> {
+                PugSaver.rescuePugs(l, new ArrayList<Dog>());
+                return -1;
+            });
+            checkVariant("rescuePugs on a DogTable", dogs, sequential, -1, l -> {
+                var table = DogTable.from(l, new BreedDictionary());
+                PugSaver.rescuePugs(table);
+                l.clear();
+                l.addAll(table.toList());
+                return -1;
+            });
+        }
+
+        // The parallel scatter with nothing or everything to move
+        var dogs = randomDogs(300000, breeds, random);
+        var unchanged = new ArrayList<>(dogs);
+        check(PugSaver.parallelStablePartition(unchanged, d -> false) == dogs.size()
+                && names(unchanged).equals(names(dogs)),
+                "parallelStablePartition moving nothing leaves the list as it was");
+        var allMoved = new ArrayList<>(dogs);
+        check(PugSaver.parallelStablePartition(allMoved, d -> true) == 0
+                && names(allMoved).equals(names(dogs)),
+                "parallelStablePartition moving everything leaves the list as it was");
+
+        // A table whose dictionary has never seen a pug has nothing to move
+        var noPugs = new DogTable(new BreedDictionary());
+        noPugs.add("Rex", "Beagle");
+        noPugs.add("Fido", "Poodle");
+        PugSaver.rescuePugs(noPugs);
+        check(noPugs.getName(0).equals("Rex") && noPugs.getName(1).equals("Fido"),
+                "rescuePugs on a DogTable without pugs leaves it as it was");
+    }
+
+    // A list operation under test; returns the split index it reports (-1 if none)
+    private interface Partition {
+        int apply(ArrayList<Dog> list);
+    }
+
+    // Runs partition on a copy of dogs and checks that it gives the sequential result
+    private static void checkVariant(String name, List<Dog> dogs, List<Dog> sequential,
+            int split, Partition partition) {
+        var list = new ArrayList<>(dogs);
+        int reported = partition.apply(list);
+        check(reported == split && names(list).equals(names(sequential))
+                && breeds(list).equals(breeds(sequential)),
+                name + " matches stablePartition, " + dogs.size() + " dogs");
     }
 
+    private static ArrayList<Dog> randomDogs(int n, String[] breeds, Random random) {
+        var dogs = new ArrayList<Dog>(n);
+        for (int i = 0; i < n; i++)
+            dogs.add(new Dog("Dog" + i, breeds[random.nextInt(breeds.length)]));
+        return dogs;
+    }
+
+    private static boolean isPug(Dog dog) {
+        return dog.getBreed().equals("Pug");
+    }
+
+    private static List<String> names(List<Dog> dogs) {
+        var names = new ArrayList<String>(dogs.size());
+        for (Dog d : dogs)
+            names.add(d.getName());
+        return names;
+    }
+
+    private static List<String> breeds(List<Dog> dogs) {
+        var breeds = new ArrayList<String>(dogs.size());
+        for (Dog d : dogs)
+            breeds.add(d.getBreed());
+        return breeds;
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+    }
 }
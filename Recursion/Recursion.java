@@ -1,5 +1,27 @@
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 public class Recursion {
 
+	// Ways to evaluate the counting methods below (countNonConsecutiveSubsets,
+	// countWaysToJumpUpStairs). Both are linear recurrences where each term is the
+	// sum of the previous k terms, so they can be computed in several ways:
+	// NAIVE - plain recursion, O(k^n)
+	// MEMOIZED - recursion that caches each term, O(n) time and stack depth
+	// ITERATIVE - bottom-up sliding window, O(n) time, O(k) space
+	// MATRIX - k x k matrix exponentiation, O(log n) matrix multiplies
+	// The long-returning versions throw ArithmeticException once the answer no
+	// longer fits in a long; the *Exact versions return a BigInteger instead.
+	public enum CountStrategy {
+		NAIVE, MEMOIZED, ITERATIVE, MATRIX
+	}
+
+	// f(1), f(2) for countNonConsecutiveSubsets: f(n) = f(n-1) + f(n-2)
+	private static final long[] NON_CONSECUTIVE_BASE = {2, 3};
+	// f(1), f(2), f(3) for countWaysToJumpUpStairs: f(n) = f(n-1) + f(n-2) + f(n-3)
+	private static final long[] STAIRS_BASE = {1, 2, 4};
+
 	// Prints the value of every node in the singly linked list with the given head,
 	// but in reverse
 	public static void printListInReverse(ListNode head) {
@@ -53,6 +75,119 @@ public class Recursion {
 				+ countWaysToJumpUpStairs(n - 3);
 	}
 
+	// Same as countNonConsecutiveSubsets(n), computed with the given strategy
+	public static long countNonConsecutiveSubsets(int n, CountStrategy strategy) {
+		if (strategy == CountStrategy.NAIVE)
+			return countNonConsecutiveSubsets(n);
+		return countLinearRecurrence(n, NON_CONSECUTIVE_BASE, strategy);
+	}
+
+	// Same as countWaysToJumpUpStairs(n), computed with the given strategy
+	public static long countWaysToJumpUpStairs(int n, CountStrategy strategy) {
+		if (strategy == CountStrategy.NAIVE)
+			return countWaysToJumpUpStairs(n);
+		return countLinearRecurrence(n, STAIRS_BASE, strategy);
+	}
+
+	// Exact countNonConsecutiveSubsets(n) for any n, via matrix exponentiation
+	public static BigInteger countNonConsecutiveSubsetsExact(int n) {
+		return countLinearRecurrenceExact(n, NON_CONSECUTIVE_BASE);
+	}
+
+	// Exact countWaysToJumpUpStairs(n) for any n, via matrix exponentiation
+	public static BigInteger countWaysToJumpUpStairsExact(int n) {
+		return countLinearRecurrenceExact(n, STAIRS_BASE);
+	}
+
+	// Returns f(n) where f(1..k) = base[0..k-1] and every later term is the sum
+	// of the k terms before it; strategy picks how it is computed (not NAIVE)
+	private static long countLinearRecurrence(int n, long[] base, CountStrategy strategy) {
+		if (n < 1)
+			throw new IllegalArgumentException("n must be positive: " + n);
+		if (n <= base.length)
+			return base[n - 1];
+		switch (strategy) {
+			case MEMOIZED:
+				// Every term is at least the sum of the two before it, so terms at least double
+				// every two steps and none past k + 128 fits in a long. Rejecting those up front
+				// keeps the recursion depth (which is n) small.
+				if (n > base.length + 2 * Long.SIZE)
+					throw new ArithmeticException("long overflow");
+				long[] memo = new long[n + 1];
+				for (int i = 1; i <= base.length; i++)
+					memo[i] = base[i - 1];
+				return memoizedHelper(n, base.length, memo);
+			case ITERATIVE:
+				long[] window = base.clone();
+				for (int i = base.length + 1; i <= n; i++) {
+					long next = 0;
+					for (long term : window)
+						next = Math.addExact(next, term);
+					System.arraycopy(window, 1, window, 0, window.length - 1);
+					window[window.length - 1] = next;
+				}
+				return window[window.length - 1];
+			case MATRIX:
+				return countLinearRecurrenceExact(n, base).longValueExact();
+			default:
+				throw new IllegalArgumentException("Unsupported strategy: " + strategy);
+		}
+	}
+
+	// Returns f(n) exactly: raises the k x k companion matrix of the recurrence to the
+	// power n - k and applies it to the base terms, in O(log n) matrix multiplies
+	private static BigInteger countLinearRecurrenceExact(int n, long[] base) {
+		if (n < 1)
+			throw new IllegalArgumentException("n must be positive: " + n);
+		int k = base.length;
+		if (n <= k)
+			return BigInteger.valueOf(base[n - 1]);
+
+		// Row 0 sums the last k terms; the other rows shift the window down by one
+		BigInteger[][] step = new BigInteger[k][k];
+		for (int i = 0; i < k; i++)
+			for (int j = 0; j < k; j++)
+				step[i][j] = (i == 0 || j == i - 1) ? BigInteger.ONE : BigInteger.ZERO;
+
+		BigInteger[][] power = matrixPower(step, n - k);
+		// The state vector is (f(k), f(k-1), ..., f(1)); f(n) is the first entry after stepping
+		BigInteger result = BigInteger.ZERO;
+		for (int j = 0; j < k; j++)
+			result = result.add(power[0][j].multiply(BigInteger.valueOf(base[k - 1 - j])));
+		return result;
+	}
+
+	// returns m raised to the power e by repeated squaring:
+	// m is a square matrix, e is the non-negative exponent
+	private static BigInteger[][] matrixPower(BigInteger[][] m, int e) {
+		int k = m.length;
+		BigInteger[][] result = new BigInteger[k][k];
+		for (int i = 0; i < k; i++)
+			for (int j = 0; j < k; j++)
+				result[i][j] = i == j ? BigInteger.ONE : BigInteger.ZERO;
+		while (e > 0) {
+			if ((e & 1) == 1)
+				result = matrixMultiply(result, m);
+			m = matrixMultiply(m, m);
+			e >>= 1;
+		}
+		return result;
+	}
+
+	// returns the product a * b of two square matrices of the same size
+	private static BigInteger[][] matrixMultiply(BigInteger[][] a, BigInteger[][] b) {
+		int k = a.length;
+		BigInteger[][] product = new BigInteger[k][k];
+		for (int i = 0; i < k; i++)
+			for (int j = 0; j < k; j++) {
+				BigInteger sum = BigInteger.ZERO;
+				for (int x = 0; x < k; x++)
+					sum = sum.add(a[i][x].multiply(b[x][j]));
+				product[i][j] = sum;
+			}
+		return product;
+	}
+
 	// Everything above this line does NOT require a recursive helper method
 	// ----------------------------------
 	// Everything below this line requires a recursive helper method
@@ -60,6 +195,19 @@ public class Recursion {
 	// 1) what the helper method does/returns
 	// 2) your description must include role of each parameter in the helper method
 
+	// returns term n of the recurrence, filling memo on the way:
+	// n is the term wanted, k is how many previous terms are summed,
+	// memo[i] holds term i once known (0 means not computed yet, since every term is positive)
+	private static long memoizedHelper(int n, int k, long[] memo) {
+		if (memo[n] != 0)
+			return memo[n];
+		long total = 0;
+		for (int i = 1; i <= k; i++)
+			total = Math.addExact(total, memoizedHelper(n - i, k, memo));
+		memo[n] = total;
+		return total;
+	}
+
 	// Prints all the subsets of str on separate lines
 	// You may assume that str has no repeated characters
 	// For example, subsets("abc") would print out "", "a", "b", "c", "ab", "ac",
@@ -124,7 +272,6 @@ public class Recursion {
 	private static void mergeSortHelper(int a, int b, int ints[]) {
 		if (a < b) {
 			int m = (a + b) / 2;
-			System.out.println(b);
 			mergeSortHelper(a, m, ints);
 			mergeSortHelper(m + 1, b, ints);
 			merge(a, b, m, ints);
@@ -184,6 +331,156 @@ public class Recursion {
 			quickSortHelper(i, b, ints);
 	}
 
+	// Ranges at most this long are sorted with insertion sort
+	private static final int INSERTION_SORT_CUTOFF = 32;
+	// Ranges at most this long are sorted on the current thread instead of being split into tasks
+	private static final int PARALLEL_CUTOFF = 1 << 13;
+
+	// Sorts ints like mergeSort, but sorts the two halves of large ranges in parallel
+	// on the common fork-join pool. Uses one scratch array for the whole sort and
+	// insertion sort for small ranges. Duplicates are allowed; the sort is stable.
+	public static void parallelMergeSort(int[] ints) {
+		if (ints.length < 2)
+			return;
+		int[] scratch = new int[ints.length];
+		ForkJoinPool.commonPool().invoke(new MergeSortTask(ints, scratch, 0, ints.length - 1));
+	}
+
+	// Sorts ints like quickSort (middle element as pivot), but sorts the two sides
+	// of each large partition in parallel on the common fork-join pool, with
+	// insertion sort for small ranges. Duplicates are allowed.
+	public static void parallelQuickSort(int[] ints) {
+		if (ints.length < 2)
+			return;
+		ForkJoinPool.commonPool().invoke(new QuickSortTask(ints, 0, ints.length - 1));
+	}
+
+	// Fork-join task that merge sorts ints[a..b] (inclusive), using scratch[a..b] as merge space
+	private static class MergeSortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int[] ints, scratch;
+		private final int a, b;
+
+		MergeSortTask(int[] ints, int[] scratch, int a, int b) {
+			this.ints = ints;
+			this.scratch = scratch;
+			this.a = a;
+			this.b = b;
+		}
+
+		@Override
+		protected void compute() {
+			if (b - a < PARALLEL_CUTOFF) {
+				sequentialMergeSort(a, b, ints, scratch);
+				return;
+			}
+			int m = (a + b) >>> 1;
+			invokeAll(new MergeSortTask(ints, scratch, a, m),
+					new MergeSortTask(ints, scratch, m + 1, b));
+			mergeWithScratch(a, b, m, ints, scratch);
+		}
+	}
+
+	// Fork-join task that quick sorts ints[a..b] (inclusive)
+	private static class QuickSortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int[] ints;
+		private final int a, b;
+
+		QuickSortTask(int[] ints, int a, int b) {
+			this.ints = ints;
+			this.a = a;
+			this.b = b;
+		}
+
+		@Override
+		protected void compute() {
+			if (b - a < PARALLEL_CUTOFF) {
+				sequentialQuickSort(a, b, ints);
+				return;
+			}
+			int[] bounds = partition(a, b, ints);
+			invokeAll(new QuickSortTask(ints, a, bounds[0]), new QuickSortTask(ints, bounds[1], b));
+		}
+	}
+
+	// merge sorts ints[a..b] (inclusive) on this thread;
+	// scratch[a..b] is free space used while merging
+	private static void sequentialMergeSort(int a, int b, int[] ints, int[] scratch) {
+		if (b - a < INSERTION_SORT_CUTOFF) {
+			insertionSort(a, b, ints);
+			return;
+		}
+		int m = (a + b) >>> 1;
+		sequentialMergeSort(a, m, ints, scratch);
+		sequentialMergeSort(m + 1, b, ints, scratch);
+		mergeWithScratch(a, b, m, ints, scratch);
+	}
+
+	// merges the sorted runs ints[a..m] and ints[m+1..b] in place, copying only the
+	// left run into scratch[a..m]; skips the work if the runs are already in order
+	private static void mergeWithScratch(int a, int b, int m, int[] ints, int[] scratch) {
+		if (ints[m] <= ints[m + 1])
+			return;
+		System.arraycopy(ints, a, scratch, a, m - a + 1);
+		int i = a, j = m + 1, k = a;
+		while (i <= m && j <= b)
+			ints[k++] = scratch[i] <= ints[j] ? scratch[i++] : ints[j++];
+		while (i <= m)
+			ints[k++] = scratch[i++];
+		// anything left in the right run is already in place
+	}
+
+	// quick sorts ints[a..b] (inclusive) on this thread, recursing into the smaller
+	// side and looping on the larger so the stack stays O(log n)
+	private static void sequentialQuickSort(int a, int b, int[] ints) {
+		while (b - a >= INSERTION_SORT_CUTOFF) {
+			int[] bounds = partition(a, b, ints);
+			if (bounds[0] - a < b - bounds[1]) {
+				sequentialQuickSort(a, bounds[0], ints);
+				a = bounds[1];
+			} else {
+				sequentialQuickSort(bounds[1], b, ints);
+				b = bounds[0];
+			}
+		}
+		insertionSort(a, b, ints);
+	}
+
+	// partitions ints[a..b] around the value at the middle index, like quickSortHelper;
+	// returns {j, i} where ints[a..j] <= pivot <= ints[i..b] and everything between is the pivot
+	private static int[] partition(int a, int b, int[] ints) {
+		var piv = ints[(a + b) >>> 1];
+		int i = a, j = b;
+		while (i <= j) {
+			while (ints[i] < piv)
+				i++;
+			while (ints[j] > piv)
+				j--;
+			if (i <= j) {
+				swap(i, j, ints);
+				i++;
+				j--;
+			}
+		}
+		return new int[] {j, i};
+	}
+
+	// sorts ints[a..b] (inclusive) by insertion, which beats splitting on tiny ranges
+	private static void insertionSort(int a, int b, int[] ints) {
+		for (int i = a + 1; i <= b; i++) {
+			int x = ints[i];
+			int j = i - 1;
+			while (j >= a && ints[j] > x) {
+				ints[j + 1] = ints[j];
+				j--;
+			}
+			ints[j + 1] = x;
+		}
+	}
+
 	// swaps index a to index b in array ints
 	private static void swap(int a, int b, int[] ints) {
 		var temp = ints[a];
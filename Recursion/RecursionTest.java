@@ -1,3 +1,10 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
 
 public class RecursionTest {
     public static void main(String[] args) {
@@ -43,5 +50,115 @@ public class RecursionTest {
         // System.out.println(Recursion.scavHunt(new int[] {3, 7, 9}, new int[] {10, 15, 10}));
         // System.out.println(Recursion.scavHunt(new int[] {1, 5, 7, 8, 10, 13, 14, 15},
         // new int[] {7, 8, 3, 10, 5, 6, 8, 7}));
+
+        // Every way of counting gives the plain recursion's answers, and they stop at the same n
+        for (var strategy : Recursion.CountStrategy.values()) {
+            boolean agrees = true;
+            for (int n = 1; n <= 30; n++)
+                agrees &= Recursion.countNonConsecutiveSubsets(n, strategy)
+                        == Recursion.countNonConsecutiveSubsets(n)
+                        && Recursion.countWaysToJumpUpStairs(n, strategy)
+                                == Recursion.countWaysToJumpUpStairs(n);
+            check(agrees, strategy + " agrees with the plain recursion for n = 1 to 30");
+        }
+        checkEnginesAgree("countNonConsecutiveSubsets",
+                strategy -> n -> Recursion.countNonConsecutiveSubsets(n, strategy),
+                Recursion::countNonConsecutiveSubsetsExact, 2);
+        checkEnginesAgree("countWaysToJumpUpStairs",
+                strategy -> n -> Recursion.countWaysToJumpUpStairs(n, strategy),
+                Recursion::countWaysToJumpUpStairsExact, 3);
+        check(Recursion.countNonConsecutiveSubsetsExact(1).equals(BigInteger.TWO)
+                && Recursion.countWaysToJumpUpStairsExact(3).equals(BigInteger.valueOf(4)),
+                "the exact counts start from the same first terms");
+
+        // The parallel sorts give Arrays.sort's order on inputs around and past their cutoffs
+        var random = new Random(42);
+        int[][] inputs = {
+            {},
+            {7},
+            random.ints(20).toArray(), // below the insertion sort cutoff
+            random.ints(5000).toArray(), // below the parallel cutoff
+            random.ints(1_000_000, 0, 10).toArray(), // many duplicates
+            random.ints(1_000_000, 5, 6).toArray(), // all equal
+            random.ints(1_000_000).sorted().toArray(), // already sorted
+            reversed(random.ints(1_000_000).sorted().toArray()),
+            random.ints(2_000_000).toArray(), // large
+            {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE},
+        };
+        String[] names = {"empty", "one value", "20 values", "5000 values",
+            "many duplicates", "all equal", "already sorted", "reverse sorted", "2000000 values",
+            "extreme values"};
+        checkSort("parallelMergeSort", Recursion::parallelMergeSort, inputs, names);
+        checkSort("parallelQuickSort", Recursion::parallelQuickSort, inputs, names);
+    }
+
+    // Sorts a copy of every input with sort and checks it against Arrays.sort
+    private static void checkSort(String name, Consumer<int[]> sort, int[][] inputs,
+            String[] names) {
+        for (int i = 0; i < inputs.length; i++) {
+            int[] actual = inputs[i].clone();
+            int[] expected = inputs[i].clone();
+            sort.accept(actual);
+            Arrays.sort(expected);
+            check(Arrays.equals(actual, expected), name + " matches Arrays.sort: " + names[i]);
+        }
+    }
+
+    private static int[] reversed(int[] ints) {
+        for (int i = 0, j = ints.length - 1; i < j; i++, j--) {
+            int t = ints[i];
+            ints[i] = ints[j];
+            ints[j] = t;
+        }
+        return ints;
+    }
+
+    // Checks that the MEMOIZED, ITERATIVE and MATRIX strategies give the same counts for as long
+    // as they fit in a long, overflow at the same n, and match the exact count, which must follow
+    // the recurrence (each term the sum of the k before it) well past that
+    private static void checkEnginesAgree(String name,
+            Function<Recursion.CountStrategy, IntToLongFunction> counts,
+            IntFunction<BigInteger> exact, int k) {
+        var memoized = counts.apply(Recursion.CountStrategy.MEMOIZED);
+        var iterative = counts.apply(Recursion.CountStrategy.ITERATIVE);
+        var matrix = counts.apply(Recursion.CountStrategy.MATRIX);
+        boolean agree = true;
+        int n = 1;
+        while (agree) {
+            Long fromMemo = orNull(memoized, n);
+            Long fromLoop = orNull(iterative, n);
+            Long fromMatrix = orNull(matrix, n);
+            if (fromMemo == null) {
+                agree = fromLoop == null && fromMatrix == null;
+                break;
+            }
+            agree = fromMemo.equals(fromLoop) && fromMemo.equals(fromMatrix)
+                    && exact.apply(n).equals(BigInteger.valueOf(fromMemo));
+            n++;
+        }
+        check(agree && exact.apply(n).bitLength() >= Long.SIZE,
+                name + ": memoized, iterative, matrix and exact agree up to n = " + (n - 1)
+                        + ", and all overflow a long from n = " + n);
+        boolean followsRecurrence = true;
+        for (int m = k + 1; m <= 500; m++) {
+            var sum = BigInteger.ZERO;
+            for (int i = 1; i <= k; i++)
+                sum = sum.add(exact.apply(m - i));
+            followsRecurrence &= exact.apply(m).equals(sum);
+        }
+        check(followsRecurrence, name + ": the exact count follows the recurrence up to n = 500");
+    }
+
+    // Returns count(n), or null if that overflows a long
+    private static Long orNull(IntToLongFunction count, int n) {
+        try {
+            return count.applyAsLong(n);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
     }
 }
@@ -0,0 +1,395 @@
+// A TextBuffer that keeps every character in one char[] with a movable
+// "gap" of free slots at the editing position, instead of one CharNode
+// per character.
+//
+// The text is buffer[0, gapStart) followed by buffer[gapEnd, buffer.length).
+// Editing at the gap is O(1) amortized; moving the gap costs the distance
+// it moves, so edits that stay near each other (typing, replacing, deleting
+// in one line) are cheap, and toString is two bulk copies.
+//
+// The cursor is a character index in [0, length), or SENTINEL (-1) when it
+// is on the notional sentinel between the last and the first character.
+//
+// Line navigation uses a Fenwick tree counting the '\n' chars in each
+// 64-slot block of the buffer, kept up to date on every edit and gap move.
+// Finding the k-th newline, or how many newlines come before an index,
+// is a tree walk plus a scan of one block: O(log n) for a fixed block size.
+
+public class GapBufferText implements TextBuffer {
+    private static final int SENTINEL = -1;
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int BLOCK_SHIFT = 6; // 64 buffer slots per line-index block
+
+    private char[] buffer;
+    private int gapStart;
+    private int gapEnd;
+    private int cursor;
+    private String clipboard;
+    private int[] lineTree; // Fenwick tree over blocks: newlines per block, 1-based
+    private int newlineCount;
+
+    public GapBufferText() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GapBufferText(int initialCapacity) {
+        this.buffer = new char[Math.max(initialCapacity, 1)];
+        this.gapStart = 0;
+        this.gapEnd = this.buffer.length;
+        this.cursor = SENTINEL;
+        this.clipboard = "";
+        rebuildLineIndex();
+    }
+
+    // Creates a buffer already holding s, with the cursor on the first char
+    public GapBufferText(String s) {
+        this(s.length() + DEFAULT_CAPACITY);
+        insert(0, s);
+        this.moveCursorToStartOfText();
+    }
+
+    // Number of characters in the text
+    public int length() {
+        return this.buffer.length - (this.gapEnd - this.gapStart);
+    }
+
+    // Returns the char at index i of the text (ignoring the gap)
+    public char charAt(int i) {
+        if (i < 0 || i >= length())
+            throw new IndexOutOfBoundsException();
+        return i < this.gapStart ? this.buffer[i] : this.buffer[i + this.gapEnd - this.gapStart];
+    }
+
+    @Override
+    public int getCursor() {
+        return this.cursor;
+    }
+
+    // O(1)
+    @Override
+    public int getLineCount() {
+        int n = length();
+        return this.newlineCount + (n > 0 && charAt(n - 1) != '\n' ? 1 : 0);
+    }
+
+    // O(log n)
+    @Override
+    public int getCursorLine() {
+        return this.cursor == SENTINEL ? -1 : newlinesBefore(this.cursor);
+    }
+
+    // O(log n)
+    @Override
+    public void moveCursorToLine(int line) {
+        int lines = getLineCount();
+        if (lines == 0)
+            return;
+        line = Math.max(0, Math.min(line, lines - 1));
+        this.cursor = line == 0 ? 0 : kthNewline(line) + 1;
+    }
+
+    @Override
+    public void moveCursorRight() {
+        if (this.cursor != length() - 1)
+            this.cursor++;
+    }
+
+    @Override
+    public void moveCursorLeft() {
+        if (this.cursor == SENTINEL)
+            this.cursor = length() - 1;
+        else if (this.cursor != 0)
+            this.cursor--;
+    }
+
+    // Lands on the newline ending the previous line, or on the sentinel
+    // O(log n)
+    @Override
+    public void moveCursorToStartOfLine() {
+        if (this.cursor == SENTINEL || charAt(this.cursor) == '\n')
+            return;
+        int start = startOfLine(this.cursor);
+        this.cursor = start == 0 ? SENTINEL : start - 1;
+    }
+
+    // O(log n)
+    @Override
+    public void moveCursorToEndOfLine() {
+        if (this.cursor == SENTINEL)
+            return;
+        int end = endOfLine(this.cursor);
+        this.cursor = end == length() ? SENTINEL : end;
+    }
+
+    @Override
+    public void moveCursorToStartOfText() {
+        this.cursor = length() == 0 ? SENTINEL : 0;
+    }
+
+    @Override
+    public void moveCursorToEndOfText() {
+        this.cursor = length() - 1;
+    }
+
+    // Cursor ends on the char before the inserted one
+    @Override
+    public void insertBeforeCursor(char c) {
+        int at = this.cursor == SENTINEL ? length() : this.cursor;
+        insert(at, String.valueOf(c));
+        this.cursor = at - 1; // the sentinel if c went in first
+    }
+
+    // Cursor ends on the last inserted char
+    @Override
+    public void insertBeforeCursor(String s) {
+        int at = this.cursor == SENTINEL ? length() : this.cursor;
+        insert(at, s);
+        this.cursor = at + s.length() - 1;
+    }
+
+    // Cursor ends on the char after the inserted one
+    @Override
+    public void insertAfterCursor(char c) {
+        insertAfterCursor(String.valueOf(c));
+    }
+
+    // Cursor ends on the char after the inserted ones, or the sentinel
+    @Override
+    public void insertAfterCursor(String s) {
+        int at = this.cursor + 1; // after the sentinel is index 0
+        insert(at, s);
+        this.cursor = at + s.length() == length() ? SENTINEL : at + s.length();
+    }
+
+    @Override
+    public void replaceUnderCursor(char c) {
+        if (this.cursor != SENTINEL && charAt(this.cursor) != '\n')
+            set(this.cursor, c);
+        else
+            this.insertAfterCursor(c);
+    }
+
+    // Overwrites up to the newline, then inserts whatever is left of s
+    // Cursor ends on the last char written (for an empty s, the one before the cursor)
+    @Override
+    public void replaceUnderCursor(String s) {
+        if (this.cursor == SENTINEL)
+            return;
+        int n = length();
+        int pos = this.cursor;
+        int count = 0;
+        while (count < s.length() && pos < n && charAt(pos) != '\n')
+            set(pos++, s.charAt(count++));
+        insert(pos, s.substring(count));
+        this.cursor = pos + s.length() - count - 1;
+    }
+
+    @Override
+    public void deleteUnderCursor() {
+        if (this.cursor == SENTINEL)
+            return;
+        delete(this.cursor, 1);
+        if (this.cursor == length())
+            this.cursor = SENTINEL;
+    }
+
+    @Override
+    public void deleteRemainderOfLine() {
+        if (this.cursor == SENTINEL)
+            return;
+        int end = endOfLine(this.cursor);
+        delete(this.cursor, end - this.cursor);
+        if (this.cursor == length())
+            this.cursor = SENTINEL;
+    }
+
+    @Override
+    public void deleteEntireLine() {
+        if (this.cursor == SENTINEL)
+            return;
+        int start = startOfLine(this.cursor);
+        int end = Math.min(endOfLine(this.cursor) + 1, length());
+        delete(start, end - start);
+        this.cursor = start < length() ? start : SENTINEL;
+    }
+
+    // Copies the current line, with its newline, into the clipboard
+    @Override
+    public void cutLine() {
+        if (this.cursor == SENTINEL)
+            return;
+        int start = startOfLine(this.cursor);
+        int end = endOfLine(this.cursor);
+        this.clipboard = substring(start, end) + '\n';
+        this.cursor = end + 1 < length() ? end + 1 : SENTINEL;
+    }
+
+    // Cursor moves to the first char of the pasted line
+    @Override
+    public void pasteLine() {
+        if (this.clipboard.isEmpty())
+            return;
+        if (this.cursor == SENTINEL) {
+            insert(0, this.clipboard);
+            this.cursor = 0;
+            return;
+        }
+        int end = endOfLine(this.cursor);
+        if (end == length()) {
+            // The last line has no newline of its own, so the pasted line brings one in front
+            insert(end, '\n' + this.clipboard.substring(0, this.clipboard.length() - 1));
+        } else {
+            insert(end + 1, this.clipboard);
+        }
+        this.cursor = end + 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder(length());
+        str.append(this.buffer, 0, this.gapStart);
+        str.append(this.buffer, this.gapEnd, this.buffer.length - this.gapEnd);
+        return str.toString();
+    }
+
+    // Returns the text in [from, to) as a String
+    private String substring(int from, int to) {
+        moveGap(to);
+        return new String(this.buffer, from, to - from);
+    }
+
+    // Index of the first char of the line containing i
+    private int startOfLine(int i) {
+        int line = newlinesBefore(i);
+        return line == 0 ? 0 : kthNewline(line) + 1;
+    }
+
+    // Index of the '\n' ending the line containing i, or length() if the line has none
+    private int endOfLine(int i) {
+        int line = newlinesBefore(i);
+        return line == this.newlineCount ? length() : kthNewline(line + 1);
+    }
+
+    private void set(int i, char c) {
+        int slot = i < this.gapStart ? i : i + this.gapEnd - this.gapStart;
+        if (this.buffer[slot] == '\n')
+            updateLineIndex(slot, -1);
+        if (c == '\n')
+            updateLineIndex(slot, 1);
+        this.buffer[slot] = c;
+    }
+
+    // Number of '\n' chars at indices before i
+    private int newlinesBefore(int i) {
+        int slot = i < this.gapStart ? i : i + this.gapEnd - this.gapStart;
+        int block = slot >> BLOCK_SHIFT;
+        int count = 0;
+        for (int b = block; b > 0; b -= b & -b)
+            count += this.lineTree[b];
+        for (int j = block << BLOCK_SHIFT; j < slot; j++)
+            if ((j < this.gapStart || j >= this.gapEnd) && this.buffer[j] == '\n')
+                count++;
+        return count;
+    }
+
+    // Index of the k-th '\n' in the text (k is 1-based and at most newlineCount)
+    private int kthNewline(int k) {
+        // Descend the tree to the block holding the k-th newline
+        int block = 0;
+        for (int step = Integer.highestOneBit(this.lineTree.length - 1); step > 0; step >>= 1) {
+            int next = block + step;
+            if (next < this.lineTree.length && this.lineTree[next] < k) {
+                block = next;
+                k -= this.lineTree[next];
+            }
+        }
+        // Then scan that block's live slots for the remaining count
+        int end = Math.min((block + 1) << BLOCK_SHIFT, this.buffer.length);
+        for (int j = block << BLOCK_SHIFT; j < end; j++) {
+            if ((j < this.gapStart || j >= this.gapEnd) && this.buffer[j] == '\n' && --k == 0)
+                return j < this.gapStart ? j : j - (this.gapEnd - this.gapStart);
+        }
+        throw new IllegalStateException("line index out of sync");
+    }
+
+    // Adds delta to the newline count of the block holding buffer slot
+    private void updateLineIndex(int slot, int delta) {
+        for (int b = (slot >> BLOCK_SHIFT) + 1; b < this.lineTree.length; b += b & -b)
+            this.lineTree[b] += delta;
+        this.newlineCount += delta;
+    }
+
+    // Recomputes the line index from scratch after the buffer is reallocated
+    private void rebuildLineIndex() {
+        this.lineTree = new int[(this.buffer.length >> BLOCK_SHIFT) + 2];
+        this.newlineCount = 0;
+        for (int j = 0; j < this.buffer.length; j++)
+            if ((j < this.gapStart || j >= this.gapEnd) && this.buffer[j] == '\n')
+                updateLineIndex(j, 1);
+    }
+
+    // Inserts s so that its first char ends up at index at
+    private void insert(int at, String s) {
+        if (s.isEmpty())
+            return;
+        ensureGap(s.length());
+        moveGap(at);
+        s.getChars(0, s.length(), this.buffer, this.gapStart);
+        for (int j = 0; j < s.length(); j++)
+            if (s.charAt(j) == '\n')
+                updateLineIndex(this.gapStart + j, 1);
+        this.gapStart += s.length();
+    }
+
+    // Removes count chars starting at index at
+    private void delete(int at, int count) {
+        moveGap(at);
+        for (int j = this.gapEnd; j < this.gapEnd + count; j++)
+            if (this.buffer[j] == '\n')
+                updateLineIndex(j, -1);
+        this.gapEnd += count;
+    }
+
+    // Slides the gap so that it starts at index at, copying only the chars in between
+    private void moveGap(int at) {
+        if (at < this.gapStart) {
+            int count = this.gapStart - at;
+            moveLineIndex(at, this.gapEnd - count, count);
+            System.arraycopy(this.buffer, at, this.buffer, this.gapEnd - count, count);
+            this.gapStart -= count;
+            this.gapEnd -= count;
+        } else if (at > this.gapStart) {
+            int count = at - this.gapStart;
+            moveLineIndex(this.gapEnd, this.gapStart, count);
+            System.arraycopy(this.buffer, this.gapEnd, this.buffer, this.gapStart, count);
+            this.gapStart += count;
+            this.gapEnd += count;
+        }
+    }
+
+    // Moves the line-index entries of count slots starting at from to start at to
+    private void moveLineIndex(int from, int to, int count) {
+        for (int j = 0; j < count; j++) {
+            if (this.buffer[from + j] == '\n') {
+                updateLineIndex(from + j, -1);
+                updateLineIndex(to + j, 1);
+            }
+        }
+    }
+
+    // Grows the buffer (at least doubling it) so the gap holds at least needed chars
+    private void ensureGap(int needed) {
+        int gap = this.gapEnd - this.gapStart;
+        if (gap >= needed)
+            return;
+        int n = length();
+        int newLength = Math.max(this.buffer.length * 2, n + needed);
+        char[] grown = new char[newLength];
+        int tail = this.buffer.length - this.gapEnd;
+        System.arraycopy(this.buffer, 0, grown, 0, this.gapStart);
+        System.arraycopy(this.buffer, this.gapEnd, grown, newLength - tail, tail);
+        this.buffer = grown;
+        this.gapEnd = newLength - tail;
+        rebuildLineIndex();
+    }
+}
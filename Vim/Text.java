@@ -1,4 +1,4 @@
-public class Text {
+public class Text implements TextBuffer {
     private final CharNode SENTINEL;
     private CharNode cursor;
     private CharNode clipboardSentinel;
@@ -24,11 +24,13 @@ public class Text {
     }
 
     // Move cursor right
+    @Override
     public void moveCursorRight() {
         this.cursor = this.cursor.getNext() == this.SENTINEL ? this.cursor : this.cursor.getNext();
     }
 
     // Move cursor left
+    @Override
     public void moveCursorLeft() {
         this.cursor = this.cursor.getPrevious() == this.SENTINEL ? this.cursor
                 : this.cursor.getPrevious();
@@ -36,6 +38,7 @@ public class Text {
 
     // Move cursor to start of line
     // (each '\n' newline is the last char in its line)
+    @Override
     public void moveCursorToStartOfLine() {
         while (this.cursor != this.SENTINEL
                 && this.cursor.getLetter() != '\n')
@@ -43,22 +46,73 @@ public class Text {
     }
 
     // Move cursor to end of line (i.e. to the newline char in its line)
+    @Override
     public void moveCursorToEndOfLine() {
         while (this.cursor != this.SENTINEL && this.cursor.getLetter() != '\n')
             this.cursor = this.cursor.getNext();
     }
 
+    // O(n)
+    @Override
+    public int getLineCount() {
+        int lines = 0;
+        for (CharNode node = this.SENTINEL.getNext(); node != this.SENTINEL; node = node.getNext())
+            if (node.getLetter() == '\n' || node.getNext() == this.SENTINEL)
+                lines++;
+        return lines;
+    }
+
+    // O(n)
+    @Override
+    public int getCursor() {
+        if (this.cursor == this.SENTINEL)
+            return -1;
+        int index = 0;
+        for (CharNode node = this.SENTINEL.getNext(); node != this.cursor; node = node.getNext())
+            index++;
+        return index;
+    }
+
+    // O(n)
+    @Override
+    public int getCursorLine() {
+        if (this.cursor == this.SENTINEL)
+            return -1;
+        int line = 0;
+        for (CharNode node = this.SENTINEL.getNext(); node != this.cursor; node = node.getNext())
+            if (node.getLetter() == '\n')
+                line++;
+        return line;
+    }
+
+    // O(n)
+    @Override
+    public void moveCursorToLine(int line) {
+        int lines = this.getLineCount();
+        if (lines == 0)
+            return;
+        line = Math.max(0, Math.min(line, lines - 1));
+        CharNode node = this.SENTINEL.getNext();
+        for (int i = 0; i < line; node = node.getNext())
+            if (node.getLetter() == '\n')
+                i++;
+        this.cursor = node;
+    }
+
     // Move cursor to start of text
+    @Override
     public void moveCursorToStartOfText() {
         this.cursor = this.SENTINEL.getNext();
     }
 
     // Move cursor to end of text
+    @Override
     public void moveCursorToEndOfText() {
         this.cursor = this.SENTINEL.getPrevious();
     }
 
     // Insert a single char before cursor
+    @Override
     public void insertBeforeCursor(char c) {
         CharNode inst = new CharNode(c);
         CharNode prev = cursor.getPrevious();
@@ -71,6 +125,7 @@ public class Text {
     }
 
     // Insert the String of chars before cursor
+    @Override
     public void insertBeforeCursor(String s) {
         CharNode post = this.cursor;
         CharNode prev = this.cursor.getPrevious();
@@ -87,6 +142,7 @@ public class Text {
     }
 
     // Insert a single char after cursor
+    @Override
     public void insertAfterCursor(char c) {
         CharNode inst = new CharNode(c);
         CharNode post = this.cursor.getNext();
@@ -99,6 +155,7 @@ public class Text {
     }
 
     // Insert a String of chars after cursor
+    @Override
     public void insertAfterCursor(String s) {
         CharNode next = this.cursor.getNext();
         CharNode prev = this.cursor;
@@ -115,6 +172,7 @@ public class Text {
     }
 
     // Replace the char under the cursor with the given char
+    @Override
     public void replaceUnderCursor(char c) {
         if (this.cursor != this.SENTINEL && cursor.getLetter() != '\n')
             this.cursor.setLetter(c);
@@ -127,6 +185,7 @@ public class Text {
     // then the letter two letters after the cursor with the third letter of s,
     // etc.
     // Cursor should end on final char of replacement
+    @Override
     public void replaceUnderCursor(String s) {
         if (this.cursor == this.SENTINEL)
             return;
@@ -152,6 +211,7 @@ public class Text {
     }
 
     // Delete character under cursor; cursor moves to next char
+    @Override
     public void deleteUnderCursor() {
         this.cursor.getPrevious().setNext(this.cursor.getNext());
     }
@@ -159,6 +219,7 @@ public class Text {
     // Deletes the remainder of the line (except for the newline),
     // starting with the current cursor position
     // Cursor is now at the newline character
+    @Override
     public void deleteRemainderOfLine() {
         CharNode node = this.cursor;
         while (this.cursor.getLetter() != '\n') {
@@ -171,6 +232,7 @@ public class Text {
 
     // Delete entire current line (including the newline)
     // Cursor moves to beginning of next line
+    @Override
     public void deleteEntireLine() {
         this.moveCursorToStartOfLine();
         this.deleteRemainderOfLine();
@@ -181,6 +243,7 @@ public class Text {
     // Clipboard contains a sentinel for a list of CharNodes that
     // is the line
     // Cursor moves to start of next line
+    @Override
     public void cutLine() {
         this.moveCursorToStartOfLine();
         this.clipboardSentinel.setNext(this.cursor);
@@ -192,6 +255,7 @@ public class Text {
     }
 
     // Paste the line from the clipboard after the current line
+    @Override
     public void pasteLine() {
         this.moveCursorToStartOfLine();
         CharNode node = this.clipboardSentinel.getNext();
@@ -0,0 +1,104 @@
+// The editing operations Vim needs from a text engine.
+// Text implements these with a doubly-linked list of CharNodes;
+// GapBufferText implements them with a single char[] and a gap.
+//
+// Every engine has a notional sentinel that sits between the last
+// and the first character: the cursor is on the sentinel when the text
+// is empty, and moving past either end of a line can land on it.
+
+public interface TextBuffer {
+
+    // Move cursor right
+    void moveCursorRight();
+
+    // Move cursor left
+    void moveCursorLeft();
+
+    // Move cursor to start of line
+    // (each '\n' newline is the last char in its line)
+    void moveCursorToStartOfLine();
+
+    // Move cursor to end of line (i.e. to the newline char in its line)
+    void moveCursorToEndOfLine();
+
+    // Number of lines; each '\n' ends a line, and trailing text without
+    // one counts as a final line (so empty text has 0 lines)
+    int getLineCount();
+
+    // Index of the char the cursor is on, or -1 if the cursor is on the sentinel
+    int getCursor();
+
+    // 0-based line the cursor is on, or -1 if the cursor is on the sentinel
+    int getCursorLine();
+
+    // Move cursor to the first char of the given 0-based line
+    // (clamped to the existing lines; no effect on empty text)
+    void moveCursorToLine(int line);
+
+    // Move cursor down to the first char of the next line (Vim's j)
+    // Only walks the rest of the current line, and is O(log n) on a GapBufferText
+    default void moveCursorDown() {
+        moveCursorToEndOfLine();
+        moveCursorRight();
+    }
+
+    // Move cursor up to the start of the line above (Vim's k), where
+    // moveCursorToStartOfLine would leave it
+    // Only walks the current line and the one above it, and is O(log n) on a GapBufferText
+    default void moveCursorUp() {
+        moveCursorToStartOfLine();
+        moveCursorLeft();
+        moveCursorToStartOfLine();
+    }
+
+    // Move cursor to start of text
+    void moveCursorToStartOfText();
+
+    // Move cursor to end of text
+    void moveCursorToEndOfText();
+
+    // Insert a single char before cursor
+    // Cursor moves to the char before the inserted one (the sentinel if there is none)
+    void insertBeforeCursor(char c);
+
+    // Insert the String of chars before cursor
+    // Cursor moves to the last inserted char
+    void insertBeforeCursor(String s);
+
+    // Insert a single char after cursor
+    // Cursor moves to the char after the inserted one (the sentinel if there is none)
+    void insertAfterCursor(char c);
+
+    // Insert a String of chars after cursor
+    // Cursor moves to the char after the inserted ones (the sentinel if there is none)
+    void insertAfterCursor(String s);
+
+    // Replace the char under the cursor with the given char
+    // (on a newline or the sentinel, it is inserted after the cursor instead)
+    void replaceUnderCursor(char c);
+
+    // Replace the letters under and after the cursor with the letters of s,
+    // without running past the end of the line
+    // Cursor should end on final char of replacement
+    void replaceUnderCursor(String s);
+
+    // Delete character under cursor; cursor moves to next char
+    void deleteUnderCursor();
+
+    // Deletes the remainder of the line (except for the newline),
+    // starting with the current cursor position
+    // Cursor is now at the newline character
+    void deleteRemainderOfLine();
+
+    // Delete entire current line (including the newline)
+    // Cursor moves to beginning of next line
+    void deleteEntireLine();
+
+    // Yank/cut the entire current line into clipboard
+    // (overwriting any that might be there already)
+    // Cursor moves to start of next line
+    void cutLine();
+
+    // Paste the line from the clipboard after the current line
+    void pasteLine();
+}
@@ -4,13 +4,20 @@ import java.io.InputStreamReader;
 
 public class Vim {
 
-    private Text text;
+    private TextBuffer text;
     private char editMode;
     private StringBuilder editStringBuilder;
     private boolean shouldExit;
 
+    // Runs the editor on a GapBufferText, whose line index makes j, k and
+    // go-to-line O(log n) instead of walks over the text
     public Vim() {
-        this.text = new Text();
+        this(new GapBufferText());
+    }
+
+    // Runs the editor on the given text engine, e.g. the linked-list Text
+    public Vim(TextBuffer text) {
+        this.text = text;
         this.editMode = '\0';
         this.editStringBuilder = new StringBuilder("");
         this.shouldExit = false;
@@ -47,16 +54,14 @@ public class Vim {
                 // Move cursor down
                 // It moves down to the FIRST character in the next line
                 // (**note: normally this is not how it works in Vim**)
-                text.moveCursorToEndOfLine();
-                text.moveCursorRight();
+                text.moveCursorDown();
                 break;
             case 'k':
                 // Move cursor up
                 // It moves up to the FIRST character in the above line
                 // (**note: normally this is not how it works in Vim**)
-                text.moveCursorToStartOfLine();
-                text.moveCursorLeft();
-                text.moveCursorToStartOfLine();
+                text.moveCursorUp();
+                break;
             case '0':
                 // Move cursor to start of line
                 // (each '\n' newline is the last char in its line
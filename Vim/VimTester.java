@@ -1,8 +1,187 @@
 import java.io.IOException;
+import java.util.Random;
 
 public class VimTester {
     public static void main(String[] args) throws IOException {
+        checkGapBufferCursor();
+        checkEditsAgainstText();
+        checkLineNavigation();
+        checkAgainstText();
+
         Vim vim = new Vim();
         vim.run();
     }
+
+    // Edits around the cursor, where the gap follows it
+    private static void checkGapBufferCursor() {
+        System.out.println("=== Gap buffer cursor ===");
+        GapBufferText text = new GapBufferText("abc\ndef\n");
+        check(text.getCursor() == 0, "a new buffer starts on its first char");
+        text.moveCursorRight();
+        text.insertBeforeCursor("XY");
+        check(text.toString(), "aXYbc\ndef\n", "insertBeforeCursor puts text before the cursor");
+        check(text.getCursor() == 2, "cursor ends on the last inserted char");
+        text.insertBeforeCursor('W');
+        check(text.toString(), "aXWYbc\ndef\n", "insertBeforeCursor puts a char before the cursor");
+        check(text.getCursor() == 1, "cursor ends on the char before the inserted one");
+        text.insertAfterCursor('Z');
+        check(text.toString(), "aXZWYbc\ndef\n", "insertAfterCursor puts text after the cursor");
+        check(text.getCursor() == 3, "cursor ends on the char after the inserted one");
+        text.deleteUnderCursor();
+        check(text.toString(), "aXZYbc\ndef\n", "deleteUnderCursor removes the char under it");
+        check(text.charAt(text.getCursor()) == 'Y', "cursor moves to the next char after a delete");
+        text.moveCursorToEndOfLine();
+        check(text.getCursor() == 6, "moveCursorToEndOfLine lands on the newline");
+        text.moveCursorRight();
+        text.replaceUnderCursor("uvwxy");
+        check(text.toString(), "aXZYbc\nuvwxy\n",
+                "replace overwrites up to the newline, then inserts");
+        check(text.getCursor() == 11, "cursor ends on the last replaced char");
+        text.moveCursorToStartOfText();
+        text.insertBeforeCursor('Q');
+        check(text.getCursor() == -1,
+                "inserting before the first char leaves the cursor on the sentinel");
+        text.moveCursorToStartOfText();
+        text.moveCursorLeft();
+        check(text.getCursor() == 0, "moveCursorLeft stops at the first char");
+        text.moveCursorToEndOfText();
+        text.moveCursorRight();
+        check(text.getCursor() == text.length() - 1, "moveCursorRight stops at the last char");
+        text.deleteUnderCursor();
+        check(text.getCursor() == -1, "deleting the last char leaves the cursor on the sentinel");
+        text.moveCursorLeft();
+        check(text.getCursor() == text.length() - 1,
+                "moveCursorLeft from the sentinel wraps to the end");
+    }
+
+    // Runs the same inserts, replaces and moves on both engines; Vim must not behave differently
+    // depending on which one it edits, so the text and the cursor position have to match.
+    // Deletes, cut and paste are left out: Text's versions of those do not relink its list.
+    private static void checkEditsAgainstText() {
+        System.out.println("\n=== Gap buffer edits against Text ===");
+        Random random = new Random(2);
+        TextBuffer list = new Text();
+        TextBuffer gap = new GapBufferText(4);
+        for (int step = 0; step < 3000; step++) {
+            int op = random.nextInt(14);
+            edit(list, op, step);
+            edit(gap, op, step);
+            if (!list.toString().equals(gap.toString()) || list.getCursor() != gap.getCursor()) {
+                check(false, "engines agree after step " + step + " (op " + op + "): cursor "
+                        + list.getCursor() + " vs " + gap.getCursor());
+                return;
+            }
+        }
+        check(true, "engines agree on the text and cursor through 3000 random edits");
+    }
+
+    private static void edit(TextBuffer text, int op, int step) {
+        switch (op) {
+            case 0 -> text.insertBeforeCursor((char) ('a' + step % 26));
+            case 1 -> text.insertBeforeCursor(step % 5 == 0 ? "" : "ab\nc");
+            case 2 -> text.insertAfterCursor(step % 4 == 0 ? '\n' : 'x');
+            case 3 -> text.insertAfterCursor(step % 5 == 0 ? "" : "de\n");
+            case 4 -> text.replaceUnderCursor('r');
+            case 5 -> text.replaceUnderCursor(step % 5 == 0 ? "" : "rep");
+            default -> move(text, op - 6, step);
+        }
+    }
+
+    // j, k and go-to-line, with the gap buffer's line count and cursor line read from its index
+    private static void checkLineNavigation() {
+        System.out.println("\n=== Line navigation ===");
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+            lines.append("line ").append(i).append('\n');
+        GapBufferText text = new GapBufferText(lines.toString());
+        check(text.getLineCount() == 1000, "every newline ends a line");
+
+        boolean everyLine = true;
+        for (int i = 0; i < 1000; i += 37) {
+            text.moveCursorToLine(i);
+            everyLine &= text.getCursorLine() == i
+                    && text.getCursor() == lines.indexOf("line " + i + "\n");
+        }
+        check(everyLine, "moveCursorToLine lands on the first char of the line");
+
+        text.moveCursorToLine(500);
+        text.moveCursorRight();
+        text.moveCursorRight();
+        text.moveCursorDown();
+        check(text.getCursorLine() == 501 && text.charAt(text.getCursor()) == 'l',
+                "moveCursorDown goes to the start of the next line");
+        text.moveCursorUp();
+        check(text.getCursor() == lines.indexOf("line 500\n") - 1,
+                "moveCursorUp goes to the start of the line above, just before its first char");
+        text.moveCursorToLine(5000);
+        check(text.getCursorLine() == 999, "moveCursorToLine clamps past the last line");
+        text.moveCursorDown();
+        check(text.getCursorLine() == 999, "moveCursorDown stays on the last line");
+        text.moveCursorToLine(1);
+        text.moveCursorUp();
+        check(text.getCursor() == -1,
+                "moveCursorUp to the first line lands on the sentinel before it");
+
+        // Lines inserted and deleted in the middle shift the index
+        text.moveCursorToLine(10);
+        text.insertBeforeCursor("new\n");
+        text.moveCursorToLine(11);
+        check(text.getLineCount() == 1001 && text.getCursor() == lines.indexOf("line 10\n") + 4,
+                "inserted newline shifts the lines after it");
+        text.moveCursorToLine(10);
+        text.deleteEntireLine();
+        check(text.toString(), lines.toString(), "deleting the inserted line restores the text");
+    }
+
+    // Moves around the same text in both engines, which share TextBuffer's j and k but implement
+    // the moves those are built from and go-to-line separately, and they must land on the same
+    // lines
+    private static void checkAgainstText() {
+        System.out.println("\n=== Gap buffer navigation against Text ===");
+        String content = "first\n\nthird line\nx\n\n\nseventh\nlast without newline";
+        TextBuffer list = new Text();
+        list.insertAfterCursor(content);
+        list.moveCursorToStartOfText();
+        TextBuffer gap = new GapBufferText(content);
+        check(list.getLineCount() == gap.getLineCount(), "engines count the same lines");
+
+        Random random = new Random(1);
+        for (int step = 0; step < 20000; step++) {
+            int op = random.nextInt(9);
+            move(list, op, step);
+            move(gap, op, step);
+            if (list.getCursorLine() != gap.getCursorLine()) {
+                check(false, "engines agree on the cursor line after step " + step + " (op " + op
+                        + "): " + list.getCursorLine() + " vs " + gap.getCursorLine());
+                return;
+            }
+        }
+        check(true, "engines agree on the cursor line through 20000 random moves");
+    }
+
+    private static void move(TextBuffer text, int op, int step) {
+        switch (op) {
+            case 0 -> text.moveCursorRight();
+            case 1 -> text.moveCursorLeft();
+            case 2 -> text.moveCursorDown();
+            case 3 -> text.moveCursorUp();
+            case 4 -> text.moveCursorToLine(step % 9);
+            case 5 -> text.moveCursorToStartOfLine();
+            case 6 -> text.moveCursorToEndOfLine();
+            case 7 -> text.moveCursorToStartOfText();
+            default -> text.moveCursorToEndOfText();
+        }
+    }
+
+    private static void check(String actual, String expected, String description) {
+        if (actual.equals(expected))
+            System.out.println("[PASS] " + description + ".");
+        else
+            System.out.println("[FAIL] " + description + ". Expected "
+                    + expected.replace("\n", "\\n") + " but got " + actual.replace("\n", "\\n"));
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "[PASS] " : "[FAIL] ") + description + ".");
+    }
 }
@@ -0,0 +1,33 @@
+package benchmarks;
+
+/**
+ * A shared structure hit by reader and writer threads at once, for contention benchmarks.
+ *
+ * Unlike {@link Workload}, one instance is used by every thread in a benchmark group, so both
+ * operations must be safe to call concurrently. Implementations are loaded by name with
+ * {@link #load(String)} for the same reason as {@link Workload}.
+ */
+public interface ReadWriteWorkload {
+
+    /** Builds the shared structure with the given number of elements. Not measured. */
+    void setUp(int size);
+
+    /** One read (e.g. a lookup of a random key); returns its result for a Blackhole. */
+    Object read();
+
+    /** One write (e.g. adding or removing a random key); returns its result for a Blackhole. */
+    Object write();
+
+    /**
+     * Instantiates the default-package workload class with the given binary name, e.g.
+     * {@code "ConcurrentTreeWorkloads$CopyOnWriteMyBST"}.
+     */
+    static ReadWriteWorkload load(String className) {
+        try {
+            return (ReadWriteWorkload) Class.forName(className).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No workload class " + className, e);
+        }
+    }
+}
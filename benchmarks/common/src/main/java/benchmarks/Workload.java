@@ -0,0 +1,36 @@
+package benchmarks;
+
+/**
+ * One operation on one data structure, sized by a benchmark parameter.
+ *
+ * The structures under test are in the default package, which JMH-generated code cannot refer to.
+ * So each workload is a small default-package class that implements this interface. Benchmarks
+ * load it by name with {@link #load(String)}, and each forked JVM only ever loads one
+ * implementation, so calls through this interface stay monomorphic and get inlined.
+ */
+public interface Workload {
+
+    /**
+     * Prepares any input the operation needs (random keys, a prebuilt structure, ...) for the
+     * given number of elements. Not measured.
+     */
+    void setUp(int size);
+
+    /**
+     * Performs the measured operation and returns something derived from its result, so the
+     * benchmark can hand it to a Blackhole.
+     */
+    Object run();
+
+    /**
+     * Instantiates the default-package workload class with the given binary name, e.g.
+     * {@code "ListWorkloads$MyArrayListAppend"}.
+     */
+    static Workload load(String className) {
+        try {
+            return (Workload) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("No workload class " + className, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.Arrays;
+import java.util.Random;
+
+import benchmarks.Workload;
+
+/**
+ * Workloads for benchmarks.SortBenchmark: copy a fixed array of size random ints and sort the copy.
+ * The copy is part of every workload, so it cancels out when comparing them.
+ */
+public class SortWorkloads {
+
+    abstract static class RandomInts implements Workload {
+        int[] input;
+
+        @Override
+        public void setUp(int size) {
+            Random random = new Random(42);
+            input = new int[size];
+            for (int i = 0; i < size; i++)
+                input[i] = random.nextInt();
+        }
+    }
+
+    public static class MergeSort extends RandomInts {
+        @Override
+        public Object run() {
+            int[] ints = input.clone();
+            Recursion.mergeSort(ints);
+            return ints;
+        }
+    }
+
+    public static class QuickSort extends RandomInts {
+        @Override
+        public Object run() {
+            int[] ints = input.clone();
+            Recursion.quickSort(ints);
+            return ints;
+        }
+    }
+
+    public static class ParallelMergeSort extends RandomInts {
+        @Override
+        public Object run() {
+            int[] ints = input.clone();
+            Recursion.parallelMergeSort(ints);
+            return ints;
+        }
+    }
+
+    public static class ParallelQuickSort extends RandomInts {
+        @Override
+        public Object run() {
+            int[] ints = input.clone();
+            Recursion.parallelQuickSort(ints);
+            return ints;
+        }
+    }
+
+    public static class ArraysSort extends RandomInts {
+        @Override
+        public Object run() {
+            int[] ints = input.clone();
+            Arrays.sort(ints);
+            return ints;
+        }
+    }
+
+    public static class ArraysParallelSort extends RandomInts {
+        @Override
+        public Object run() {
+            int[] ints = input.clone();
+            Arrays.parallelSort(ints);
+            return ints;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting random ints with the Recursion sorts against Arrays.sort and Arrays.parallelSort.
+ *
+ * Each workload name is a nested class of the default-package SortWorkloads class.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SortBenchmark {
+
+    @Param({
+            "MergeSort", "QuickSort", "ParallelMergeSort", "ParallelQuickSort", "ArraysSort",
+            "ArraysParallelSort"})
+    public String workload;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Workload impl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        impl = Workload.load("SortWorkloads$" + workload);
+        impl.setUp(size);
+    }
+
+    @Benchmark
+    public Object run() {
+        return impl.run();
+    }
+}
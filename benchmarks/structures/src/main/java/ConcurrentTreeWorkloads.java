@@ -0,0 +1,118 @@
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import benchmarks.ReadWriteWorkload;
+
+/**
+ * Workloads for benchmarks.ConcurrentTreeBenchmark. Each one holds the even keys 0, 2, ...,
+ * 2 * (size - 1); a read looks up a random key in [0, 2 * size) and a write adds or removes a
+ * random odd key, so the tree stays around size elements for the whole run.
+ */
+public class ConcurrentTreeWorkloads {
+
+    abstract static class Base implements ReadWriteWorkload {
+        int size;
+
+        @Override
+        public void setUp(int size) {
+            this.size = size;
+            for (int i = 0; i < size; i++)
+                add(2 * i);
+        }
+
+        @Override
+        public Object read() {
+            return contains(ThreadLocalRandom.current().nextInt(2 * size));
+        }
+
+        @Override
+        public Object write() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int key = 2 * random.nextInt(size) + 1;
+            return random.nextBoolean() ? add(key) : remove(key);
+        }
+
+        abstract boolean contains(int key);
+
+        abstract boolean add(int key);
+
+        abstract boolean remove(int key);
+    }
+
+    /** Copy-on-write tree: readers never lock. */
+    public static class CopyOnWriteMyBST extends Base {
+        final ConcurrentMyBST<Integer> tree = new ConcurrentMyBST<>();
+
+        @Override
+        boolean contains(int key) {
+            return tree.contains(key);
+        }
+
+        @Override
+        boolean add(int key) {
+            return tree.add(key);
+        }
+
+        @Override
+        boolean remove(int key) {
+            return tree.remove(key);
+        }
+    }
+
+    /** AVL MyBST behind a read-write lock: the baseline the copy-on-write tree replaces. */
+    public static class LockedMyBST extends Base {
+        final MyBST<Integer> tree = new MyBST<>(true);
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        @Override
+        boolean contains(int key) {
+            lock.readLock().lock();
+            try {
+                return tree.contains(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        boolean add(int key) {
+            lock.writeLock().lock();
+            try {
+                return tree.add(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        boolean remove(int key) {
+            lock.writeLock().lock();
+            try {
+                return tree.remove(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** The JDK's lock-free sorted set, for reference. */
+    public static class SkipListSet extends Base {
+        final ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+
+        @Override
+        boolean contains(int key) {
+            return set.contains(key);
+        }
+
+        @Override
+        boolean add(int key) {
+            return set.add(key);
+        }
+
+        @Override
+        boolean remove(int key) {
+            return set.remove(key);
+        }
+    }
+}
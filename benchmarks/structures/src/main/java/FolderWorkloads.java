@@ -0,0 +1,87 @@
+import java.util.HashMap;
+
+import benchmarks.Workload;
+
+/**
+ * Workloads for benchmarks.FolderBenchmark. Build workloads add size uniquely named files to an
+ * empty folder per call; Lookup workloads find every one of those names in a prebuilt folder.
+ */
+public class FolderWorkloads {
+
+    abstract static class Names implements Workload {
+        String[] names;
+
+        @Override
+        public void setUp(int size) {
+            names = new String[size];
+            for (int i = 0; i < size; i++)
+                names[i] = "file" + i + ".txt";
+        }
+    }
+
+    static FolderNode buildFolder(String[] names) {
+        FolderNode folder = new FolderNode("/", null);
+        for (String name : names)
+            folder.addFile(name, 1);
+        return folder;
+    }
+
+    static HashMap<String, Integer> buildMap(String[] names) {
+        HashMap<String, Integer> map = new HashMap<>();
+        for (String name : names)
+            map.putIfAbsent(name, 1);
+        return map;
+    }
+
+    public static class FolderNodeBuild extends Names {
+        @Override
+        public Object run() {
+            return buildFolder(names);
+        }
+    }
+
+    public static class HashMapBuild extends Names {
+        @Override
+        public Object run() {
+            return buildMap(names);
+        }
+    }
+
+    public static class FolderNodeLookup extends Names {
+        private FolderNode folder;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            folder = buildFolder(names);
+        }
+
+        @Override
+        public Object run() {
+            int hits = 0;
+            for (String name : names)
+                if (folder.getChildByName(name) != null)
+                    hits++;
+            return hits;
+        }
+    }
+
+    public static class HashMapLookup extends Names {
+        private HashMap<String, Integer> map;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            map = buildMap(names);
+        }
+
+        @Override
+        public Object run() {
+            int hits = 0;
+            for (String name : names)
+                if (map.get(name) != null)
+                    hits++;
+            return hits;
+        }
+    }
+}
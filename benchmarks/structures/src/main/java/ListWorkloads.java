@@ -0,0 +1,202 @@
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+import benchmarks.Workload;
+
+/**
+ * Workloads for benchmarks.ListBenchmark. The Append workloads build a fresh list of size elements
+ * per call; the Scan workloads sum a prebuilt list front to back.
+ */
+public class ListWorkloads {
+
+    /** Boxed values shared by the workloads so boxing is not part of the measurement. */
+    abstract static class Values implements Workload {
+        Integer[] values;
+
+        @Override
+        public void setUp(int size) {
+            values = new Integer[size];
+            for (int i = 0; i < size; i++)
+                values[i] = i;
+        }
+    }
+
+    public static class MyArrayListAppend extends Values {
+        @Override
+        public Object run() {
+            MyArrayList<Integer> list = new MyArrayList<>();
+            for (Integer v : values)
+                list.add(v);
+            return list;
+        }
+    }
+
+    public static class IntArrayListAppend extends Values {
+        @Override
+        public Object run() {
+            IntArrayList list = new IntArrayList();
+            for (int i = 0; i < values.length; i++)
+                list.add(i);
+            return list;
+        }
+    }
+
+    public static class ArrayListAppend extends Values {
+        @Override
+        public Object run() {
+            ArrayList<Integer> list = new ArrayList<>();
+            for (Integer v : values)
+                list.add(v);
+            return list;
+        }
+    }
+
+    public static class SinglyLinkedListAppend extends Values {
+        @Override
+        public Object run() {
+            SinglyLinkedList<Integer> list = new SinglyLinkedList<>();
+            for (Integer v : values)
+                list.add(v);
+            return list;
+        }
+    }
+
+    public static class UnrolledLinkedListAppend extends Values {
+        @Override
+        public Object run() {
+            UnrolledLinkedList<Integer> list = new UnrolledLinkedList<>();
+            for (Integer v : values)
+                list.add(v);
+            return list;
+        }
+    }
+
+    public static class LinkedListAppend extends Values {
+        @Override
+        public Object run() {
+            LinkedList<Integer> list = new LinkedList<>();
+            for (Integer v : values)
+                list.add(v);
+            return list;
+        }
+    }
+
+    public static class MyArrayListScan extends Values {
+        private MyArrayList<Integer> list;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            list = new MyArrayList<>(size);
+            for (Integer v : values)
+                list.add(v);
+        }
+
+        @Override
+        public Object run() {
+            long sum = 0;
+            for (int i = 0; i < list.size(); i++)
+                sum += list.get(i);
+            return sum;
+        }
+    }
+
+    public static class IntArrayListScan implements Workload {
+        private IntArrayList list;
+
+        @Override
+        public void setUp(int size) {
+            list = new IntArrayList(size);
+            for (int i = 0; i < size; i++)
+                list.add(i);
+        }
+
+        @Override
+        public Object run() {
+            long sum = 0;
+            for (int i = 0; i < list.size(); i++)
+                sum += list.get(i);
+            return sum;
+        }
+    }
+
+    public static class ArrayListScan extends Values {
+        private ArrayList<Integer> list;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            list = new ArrayList<>(size);
+            for (Integer v : values)
+                list.add(v);
+        }
+
+        @Override
+        public Object run() {
+            long sum = 0;
+            for (int i = 0; i < list.size(); i++)
+                sum += list.get(i);
+            return sum;
+        }
+    }
+
+    public static class SinglyLinkedListScan extends Values {
+        private SinglyLinkedList<Integer> list;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            list = new SinglyLinkedList<>();
+            for (Integer v : values)
+                list.add(v);
+        }
+
+        @Override
+        public Object run() {
+            long sum = 0;
+            for (ListNode<Integer> node = list.getHead(); node != null; node = node.getNext())
+                sum += node.getValue();
+            return sum;
+        }
+    }
+
+    public static class UnrolledLinkedListScan extends Values {
+        private UnrolledLinkedList<Integer> list;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            list = new UnrolledLinkedList<>();
+            for (Integer v : values)
+                list.add(v);
+        }
+
+        @Override
+        public Object run() {
+            long sum = 0;
+            for (int i = 0; i < list.size(); i++)
+                sum += list.get(i);
+            return sum;
+        }
+    }
+
+    public static class LinkedListScan extends Values {
+        private LinkedList<Integer> list;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            list = new LinkedList<>();
+            for (Integer v : values)
+                list.add(v);
+        }
+
+        @Override
+        public Object run() {
+            long sum = 0;
+            for (Integer v : list)
+                sum += v;
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+import benchmarks.Workload;
+
+/**
+ * Workloads for benchmarks.TextBenchmark: type size characters one at a time (a line break every
+ * 80), then render the whole text with toString.
+ */
+public class TextWorkloads {
+
+    abstract static class Typing implements Workload {
+        int size;
+
+        @Override
+        public void setUp(int size) {
+            this.size = size;
+        }
+
+        static char charAt(int i) {
+            return i % 80 == 79 ? '\n' : (char) ('a' + i % 26);
+        }
+    }
+
+    public static class LinkedTextTyping extends Typing {
+        @Override
+        public Object run() {
+            Text text = new Text();
+            for (int i = 0; i < size; i++)
+                text.insertAfterCursor(charAt(i));
+            return text.toString();
+        }
+    }
+
+    public static class GapBufferTextTyping extends Typing {
+        @Override
+        public Object run() {
+            GapBufferText text = new GapBufferText();
+            for (int i = 0; i < size; i++)
+                text.insertAfterCursor(charAt(i));
+            return text.toString();
+        }
+    }
+
+    public static class StringBuilderTyping extends Typing {
+        @Override
+        public Object run() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < size; i++)
+                text.append(charAt(i));
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.Random;
+import java.util.TreeMap;
+
+import benchmarks.Workload;
+
+/**
+ * Workloads for benchmarks.TreeBenchmark. Insert workloads build a fresh tree from size keys per
+ * call (shuffled, or ascending for the Sorted ones); Contains workloads look every key up in a
+ * prebuilt tree. The plain MyBST has no sorted-insert workload: it degrades to a linked list and
+ * would take hours at 10M keys.
+ */
+public class TreeWorkloads {
+
+    /** The keys 0..size-1, shuffled with a fixed seed. */
+    abstract static class Keys implements Workload {
+        Integer[] keys;
+
+        @Override
+        public void setUp(int size) {
+            keys = new Integer[size];
+            for (int i = 0; i < size; i++)
+                keys[i] = i;
+            Random random = new Random(42);
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Integer temp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = temp;
+            }
+        }
+    }
+
+    /** The keys 0..size-1 in ascending order. */
+    abstract static class SortedKeys implements Workload {
+        Integer[] keys;
+
+        @Override
+        public void setUp(int size) {
+            keys = new Integer[size];
+            for (int i = 0; i < size; i++)
+                keys[i] = i;
+        }
+    }
+
+    static MyBST<Integer> build(Integer[] keys, boolean balanced) {
+        MyBST<Integer> tree = new MyBST<>(balanced);
+        for (Integer k : keys)
+            tree.add(k);
+        return tree;
+    }
+
+    static TreeMap<Integer, Integer> buildTreeMap(Integer[] keys) {
+        TreeMap<Integer, Integer> map = new TreeMap<>();
+        for (Integer k : keys)
+            map.put(k, k);
+        return map;
+    }
+
+    public static class MyBSTInsert extends Keys {
+        @Override
+        public Object run() {
+            return build(keys, false);
+        }
+    }
+
+    public static class AvlMyBSTInsert extends Keys {
+        @Override
+        public Object run() {
+            return build(keys, true);
+        }
+    }
+
+    public static class TreeMapInsert extends Keys {
+        @Override
+        public Object run() {
+            return buildTreeMap(keys);
+        }
+    }
+
+    public static class AvlMyBSTInsertSorted extends SortedKeys {
+        @Override
+        public Object run() {
+            return build(keys, true);
+        }
+    }
+
+    public static class TreeMapInsertSorted extends SortedKeys {
+        @Override
+        public Object run() {
+            return buildTreeMap(keys);
+        }
+    }
+
+    public static class MyBSTContains extends Keys {
+        private MyBST<Integer> tree;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            tree = build(keys, false);
+        }
+
+        @Override
+        public Object run() {
+            int hits = 0;
+            for (Integer k : keys)
+                if (tree.contains(k))
+                    hits++;
+            return hits;
+        }
+    }
+
+    public static class AvlMyBSTContains extends Keys {
+        private MyBST<Integer> tree;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            tree = build(keys, true);
+        }
+
+        @Override
+        public Object run() {
+            int hits = 0;
+            for (Integer k : keys)
+                if (tree.contains(k))
+                    hits++;
+            return hits;
+        }
+    }
+
+    public static class TreeMapContains extends Keys {
+        private TreeMap<Integer, Integer> map;
+
+        @Override
+        public void setUp(int size) {
+            super.setUp(size);
+            map = buildTreeMap(keys);
+        }
+
+        @Override
+        public Object run() {
+            int hits = 0;
+            for (Integer k : keys)
+                if (map.containsKey(k))
+                    hits++;
+            return hits;
+        }
+    }
+}
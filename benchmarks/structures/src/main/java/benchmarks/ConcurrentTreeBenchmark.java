@@ -0,0 +1,66 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read throughput of ConcurrentMyBST under a concurrent writer, against an AVL MyBST behind a
+ * read-write lock and against ConcurrentSkipListSet.
+ *
+ * The readMostly group runs one writer thread and three reader threads on one shared tree. To see
+ * how reads scale with cores, rerun with more readers, e.g. {@code -tg 1,1}, {@code -tg 1,3},
+ * {@code -tg 1,7}, and compare the "read" scores: the copy-on-write tree's should grow with the
+ * reader count, while the locked tree's flattens out as readers queue behind the writer.
+ *
+ * Each workload name is a nested class of the default-package ConcurrentTreeWorkloads class.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentTreeBenchmark {
+
+    @Param({"CopyOnWriteMyBST", "LockedMyBST", "SkipListSet"})
+    public String workload;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private ReadWriteWorkload impl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        impl = ReadWriteWorkload.load("ConcurrentTreeWorkloads$" + workload);
+        impl.setUp(size);
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public Object write() {
+        return impl.write();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(3)
+    public Object read() {
+        return impl.read();
+    }
+}